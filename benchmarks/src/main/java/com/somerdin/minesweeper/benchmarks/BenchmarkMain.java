@@ -0,0 +1,41 @@
+package com.somerdin.minesweeper.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the engine benchmarks with allocation profiling, so every result
+ * comes with bytes allocated per operation and GC counts next to its time.
+ * Any JMH command line options are passed through, e.g. a benchmark name
+ * pattern to run only some of them. Unless another format is chosen with
+ * {@code -rf}, results are also written as JSON to {@code jmh-result.json}
+ * for comparing runs.
+ * <pre>
+ * mvn -pl benchmarks -am package
+ * java -jar benchmarks/target/benchmarks.jar [JMH options] [benchmark pattern]
+ * </pre>
+ */
+public final class BenchmarkMain {
+    private BenchmarkMain() {
+
+    }
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                // neighbor counts are vectorized in the game, so they are here too
+                .jvmArgsAppend("--add-modules", "jdk.incubator.vector");
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,62 @@
+package com.somerdin.minesweeper.benchmarks;
+
+import com.somerdin.minesweeper.game.CellStatus;
+import com.somerdin.minesweeper.game.Difficulty;
+import com.somerdin.minesweeper.game.Minefield;
+
+/* board sizes and tiles shared by the benchmarks */
+final class Boards {
+    private Boards() {
+
+    }
+
+    /* a preset name, or rows x cols of a large board at the hard bomb density */
+    static Difficulty difficulty(String size) {
+        return switch (size) {
+            case "EASY" -> Difficulty.EASY;
+            case "MEDIUM" -> Difficulty.MEDIUM;
+            case "HARD" -> Difficulty.HARD;
+            default -> {
+                String[] dimensions = size.split("x");
+                yield Difficulty.large(Integer.parseInt(dimensions[0]), Integer.parseInt(dimensions[1]),
+                        Difficulty.HARD.bombPercent());
+            }
+        };
+    }
+
+    /*
+     * the hidden tile with no neighboring bombs closest to the center, as
+     * {row, col}, so revealing it cascades; null if there is none
+     */
+    static int[] zeroNearCenter(Minefield minefield) {
+        int rows = minefield.rowCount();
+        int cols = minefield.colCount();
+        int[] best = null;
+        long bestDistance = Long.MAX_VALUE;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                long distance = (long) (i - rows / 2) * (i - rows / 2) + (long) (j - cols / 2) * (j - cols / 2);
+                if (distance < bestDistance
+                        && minefield.getCellStatus(i, j) == CellStatus.HIDDEN
+                        && !minefield.isBomb(i, j)
+                        && minefield.neighborCount(i, j) == 0) {
+                    best = new int[] {i, j};
+                    bestDistance = distance;
+                }
+            }
+        }
+        return best;
+    }
+
+    /* the first hidden tile in row-major order, as {row, col} */
+    static int[] firstHidden(Minefield minefield) {
+        for (int i = 0; i < minefield.rowCount(); i++) {
+            for (int j = 0; j < minefield.colCount(); j++) {
+                if (minefield.getCellStatus(i, j) == CellStatus.HIDDEN) {
+                    return new int[] {i, j};
+                }
+            }
+        }
+        throw new IllegalStateException("Board has no hidden tile.");
+    }
+}
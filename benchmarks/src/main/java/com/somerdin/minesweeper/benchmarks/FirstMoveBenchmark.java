@@ -0,0 +1,48 @@
+package com.somerdin.minesweeper.benchmarks;
+
+import com.somerdin.minesweeper.game.Difficulty;
+import com.somerdin.minesweeper.game.Minefield;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * the first move alone: placing deferred bombs around it, or moving bombs
+ * off it when they were placed with the new game. Each invocation needs a
+ * fresh game, so only boards large enough to dwarf the setup are measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FirstMoveBenchmark {
+    @Param({"500x500", "2000x2000"})
+    public String size;
+
+    @Param({"true", "false"})
+    public boolean deferred;
+
+    private Difficulty difficulty;
+    private Minefield minefield;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        difficulty = Boards.difficulty(size);
+        minefield = new Minefield(difficulty);
+        minefield.setPlacementDeferred(deferred);
+    }
+
+    @Setup(Level.Invocation)
+    public void startGame() {
+        minefield.startNewGame(difficulty, seed++);
+    }
+
+    @Benchmark
+    public Minefield firstMove() {
+        minefield.chooseCell(difficulty.rows() / 2, difficulty.cols() / 2);
+        return minefield;
+    }
+}
@@ -0,0 +1,62 @@
+package com.somerdin.minesweeper.benchmarks;
+
+import com.somerdin.minesweeper.game.BoardType;
+import com.somerdin.minesweeper.game.Difficulty;
+import com.somerdin.minesweeper.game.Minefield;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * revealing a tile with no neighboring bombs on a sparse board, which
+ * cascades across a large opening, with each board backend and with and
+ * without the opening index
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RevealAreaBenchmark {
+    @Param({"500", "2000"})
+    public int length;
+
+    @Param({"5", "12"})
+    public int bombPercent;
+
+    @Param({"PACKED", "BITBOARD"})
+    public BoardType boardType;
+
+    @Param({"true", "false"})
+    public boolean openingIndexed;
+
+    private Difficulty difficulty;
+    private Minefield minefield;
+    private int[] target;
+
+    @Setup
+    public void setUp() {
+        difficulty = Difficulty.large(length, length, bombPercent);
+        minefield = new Minefield(difficulty);
+        minefield.setBoardType(boardType);
+        minefield.setOpeningIndexed(openingIndexed);
+        // bombs are placed with the game, so the first move only reveals
+        minefield.setPlacementDeferred(false);
+    }
+
+    @Setup(Level.Invocation)
+    public void startGame() {
+        // the same board every time, so every invocation reveals the same opening
+        minefield.startNewGame(difficulty, 1);
+        if (target == null) {
+            target = Boards.zeroNearCenter(minefield);
+        }
+    }
+
+    @Benchmark
+    public int revealOpening() {
+        minefield.chooseCell(target[0], target[1]);
+        return minefield.getRevealedCount();
+    }
+}
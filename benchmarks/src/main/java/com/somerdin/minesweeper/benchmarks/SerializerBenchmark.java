@@ -0,0 +1,51 @@
+package com.somerdin.minesweeper.benchmarks;
+
+import com.somerdin.minesweeper.game.Difficulty;
+import com.somerdin.minesweeper.game.Minefield;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/* saving a game in progress to a file, and saving then loading it again */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializerBenchmark {
+    @Param({"HARD", "500x500"})
+    public String size;
+
+    private Minefield minefield;
+    private File file;
+
+    @Setup
+    public void setUp() throws IOException {
+        Difficulty difficulty = Boards.difficulty(size);
+        minefield = new Minefield(difficulty);
+        minefield.startNewGame(difficulty, 1);
+        minefield.chooseCell(difficulty.rows() / 2, difficulty.cols() / 2);
+        file = File.createTempFile("minesweeper-benchmark", ".mines");
+        file.deleteOnExit();
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public File write() throws IOException {
+        Minefield.MinefieldSerializer.writeToFile(file, minefield);
+        return file;
+    }
+
+    @Benchmark
+    public Minefield roundTrip() throws IOException {
+        Minefield.MinefieldSerializer.writeToFile(file, minefield);
+        return Minefield.MinefieldSerializer.fromFile(file);
+    }
+}
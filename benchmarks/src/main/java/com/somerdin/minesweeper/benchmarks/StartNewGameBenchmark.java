@@ -0,0 +1,50 @@
+package com.somerdin.minesweeper.benchmarks;
+
+import com.somerdin.minesweeper.game.BoardType;
+import com.somerdin.minesweeper.game.Difficulty;
+import com.somerdin.minesweeper.game.Minefield;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * starting a new game on a reused minefield, alone and with the first move,
+ * which is when deferred bombs are placed and the board is indexed
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StartNewGameBenchmark {
+    @Param({"EASY", "MEDIUM", "HARD", "500x500", "2000x2000"})
+    public String size;
+
+    @Param({"PACKED", "BITBOARD"})
+    public BoardType boardType;
+
+    private Difficulty difficulty;
+    private Minefield minefield;
+    private long seed;
+
+    @Setup
+    public void setUp() {
+        difficulty = Boards.difficulty(size);
+        minefield = new Minefield(difficulty);
+        minefield.setBoardType(boardType);
+    }
+
+    @Benchmark
+    public Minefield startNewGame() {
+        minefield.startNewGame(difficulty, seed++);
+        return minefield;
+    }
+
+    @Benchmark
+    public Minefield startNewGameAndFirstMove() {
+        minefield.startNewGame(difficulty, seed++);
+        minefield.chooseCell(difficulty.rows() / 2, difficulty.cols() / 2);
+        return minefield;
+    }
+}
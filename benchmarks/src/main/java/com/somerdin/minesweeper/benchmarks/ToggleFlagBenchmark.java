@@ -0,0 +1,53 @@
+package com.somerdin.minesweeper.benchmarks;
+
+import com.somerdin.minesweeper.game.Difficulty;
+import com.somerdin.minesweeper.game.Minefield;
+import com.somerdin.minesweeper.game.MinefieldListener;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * cycling a tile through flagged, question-flagged and hidden, which
+ * publishes the counts after every toggle, with and without a listener
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ToggleFlagBenchmark {
+    @Param({"HARD", "2000x2000"})
+    public String size;
+
+    @Param({"0", "1"})
+    public int listeners;
+
+    private Minefield minefield;
+    private int[] tile;
+    private int flaggedCounts;
+
+    @Setup
+    public void setUp() {
+        Difficulty difficulty = Boards.difficulty(size);
+        minefield = new Minefield(difficulty);
+        minefield.startNewGame(difficulty, 1);
+        minefield.chooseCell(difficulty.rows() / 2, difficulty.cols() / 2);
+        tile = Boards.firstHidden(minefield);
+        for (int i = 0; i < listeners; i++) {
+            minefield.addListener(new MinefieldListener() {
+                @Override
+                public void countsChanged(Minefield changed) {
+                    flaggedCounts += changed.getFlaggedCount();
+                }
+            });
+        }
+    }
+
+    @Benchmark
+    public int toggleFlag() {
+        minefield.toggleFlag(tile[0], tile[1]);
+        return minefield.getFlaggedCount();
+    }
+}
@@ -0,0 +1,410 @@
+package com.somerdin.minesweeper.game;
+
+import java.util.Arrays;
+
+/**
+ * Board backend that keeps bomb, revealed, flagged and question-flagged tiles
+ * as bitsets, with each board row stored as its own run of 64-bit words. Bit
+ * {@code col % 64} of word {@code col / 64} in a row is the tile in that
+ * column.
+ * <p>
+ * Neighbor counts are kept in a byte per tile, along with a bitset of
+ * non-bomb tiles with no neighboring bombs that drives the flood fill.
+ */
+public final class BitBoard implements Board {
+    private final int rows;
+    private final int cols;
+    private final int wordsPerRow;
+    // valid column bits of the last word in each row
+    private final long lastWordMask;
+
+    private final long[] bombs;
+    private final long[] revealed;
+    private final long[] flagged;
+    private final long[] question;
+    private final long[] zeros;
+    private final byte[] counts;
+
+    // scratch space for flood fill; region is kept zeroed between calls
+    private final long[] region;
+    private final long[] rowScratch;
+
+    private int detonated = -1;
+    private int revealedCount;
+    private int flaggedCount;
+
+    /* create a board with every tile hidden and no bombs */
+    public BitBoard(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.wordsPerRow = (cols + Long.SIZE - 1) / Long.SIZE;
+        this.lastWordMask = cols % Long.SIZE == 0 ? -1L : (1L << (cols % Long.SIZE)) - 1;
+
+        int words = rows * wordsPerRow;
+        bombs = new long[words];
+        revealed = new long[words];
+        flagged = new long[words];
+        question = new long[words];
+        zeros = new long[words];
+        counts = new byte[rows * cols];
+
+        region = new long[words];
+        rowScratch = new long[wordsPerRow];
+        fillZeros();
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(bombs, 0);
+        Arrays.fill(revealed, 0);
+        Arrays.fill(flagged, 0);
+        Arrays.fill(question, 0);
+        Arrays.fill(counts, (byte) 0);
+        fillZeros();
+        detonated = -1;
+        revealedCount = 0;
+        flaggedCount = 0;
+    }
+
+    /* every tile starts with no neighboring bombs */
+    private void fillZeros() {
+        for (int i = 0; i < rows; i++) {
+            Arrays.fill(zeros, i * wordsPerRow, (i + 1) * wordsPerRow, -1L);
+            zeros[(i + 1) * wordsPerRow - 1] = lastWordMask;
+        }
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    @Override
+    public byte get(int index) {
+        int tile = counts[index];
+        if (isBomb(index)) {
+            tile |= PackedBoard.BOMB_BIT;
+        }
+        if (index == detonated) {
+            tile |= PackedBoard.DETONATED_BIT;
+        }
+        tile |= getCellStatus(index).ordinal() << PackedBoard.STATUS_SHIFT;
+        return (byte) tile;
+    }
+
+    @Override
+    public CellStatus getCellStatus(int index) {
+        if (test(revealed, index)) {
+            return CellStatus.REVEALED;
+        } else if (test(flagged, index)) {
+            return CellStatus.FLAGGED;
+        } else if (test(question, index)) {
+            return CellStatus.FLAGGED_QUESTION;
+        }
+        return CellStatus.HIDDEN;
+    }
+
+    @Override
+    public void setCellStatus(int index, CellStatus status) {
+        if (test(revealed, index)) {
+            revealedCount--;
+        } else if (test(flagged, index)) {
+            flaggedCount--;
+        }
+        assign(revealed, index, status == CellStatus.REVEALED);
+        assign(flagged, index, status == CellStatus.FLAGGED);
+        assign(question, index, status == CellStatus.FLAGGED_QUESTION);
+
+        if (status == CellStatus.REVEALED) {
+            revealedCount++;
+        } else if (status == CellStatus.FLAGGED) {
+            flaggedCount++;
+        }
+    }
+
+    @Override
+    public boolean isBomb(int index) {
+        return test(bombs, index);
+    }
+
+    @Override
+    public void setBomb(int index, boolean bomb) {
+        assign(bombs, index, bomb);
+        assign(zeros, index, !bomb && counts[index] == 0);
+        if (!bomb && index == detonated) {
+            detonated = -1;
+        }
+    }
+
+    @Override
+    public BombStatus getBombStatus(int index) {
+        if (!isBomb(index)) {
+            return BombStatus.NONE;
+        }
+        return index == detonated ? BombStatus.DETONATED : BombStatus.UNDETONATED;
+    }
+
+    @Override
+    public void setBombStatus(int index, BombStatus status) {
+        if (status == BombStatus.DETONATED && getCellStatus(index) != CellStatus.REVEALED) {
+            throw new IllegalArgumentException("Bomb status cannot be set to detonated if cell is not revealed.");
+        }
+        switch (status) {
+            case NONE -> setBomb(index, false);
+            case UNDETONATED -> {
+                setBomb(index, true);
+                if (index == detonated) {
+                    detonated = -1;
+                }
+            }
+            case DETONATED -> {
+                setBomb(index, true);
+                detonated = index;
+            }
+        }
+    }
+
+    @Override
+    public int getNeighborCount(int index) {
+        return counts[index];
+    }
+
+    @Override
+    public void setNeighborCount(int index, int count) {
+        counts[index] = (byte) count;
+        assign(zeros, index, count == 0 && !isBomb(index));
+    }
+
+    @Override
+    public void getBombRow(int row, byte[] mask) {
+        int offset = row * wordsPerRow;
+        for (int j = 0; j < cols; j++) {
+            mask[j] = (byte) ((bombs[offset + j / Long.SIZE] >>> j) & 1);
+        }
+    }
+
+    @Override
+    public void setNeighborCountRow(int row, byte[] counts) {
+        System.arraycopy(counts, 0, this.counts, row * cols, cols);
+
+        int offset = row * wordsPerRow;
+        for (int w = 0; w < wordsPerRow; w++) {
+            long zeroWord = 0;
+            int end = Math.min(cols, (w + 1) * Long.SIZE);
+            for (int j = w * Long.SIZE; j < end; j++) {
+                if (counts[j] == 0) {
+                    zeroWord |= 1L << j;
+                }
+            }
+            zeros[offset + w] = zeroWord & ~bombs[offset + w];
+        }
+    }
+
+    @Override
+    public void collectBombs(IntList tiles) {
+        for (int w = 0; w < bombs.length; w++) {
+            long word = bombs[w];
+            int rowStart = (w / wordsPerRow) * cols + (w % wordsPerRow) * Long.SIZE;
+            while (word != 0) {
+                tiles.add(rowStart + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    @Override
+    public int revealedCount() {
+        return revealedCount;
+    }
+
+    @Override
+    public int flaggedCount() {
+        return flaggedCount;
+    }
+
+    /*
+     * finds the region of connected zero tiles containing the start tile with
+     * alternating downward and upward scanline sweeps, where each row is
+     * filled along its runs of zero tiles from the region in the row before
+     * it, then reveals the region and its border in one pass
+     */
+    @Override
+    public int revealArea(int row, int col) {
+        int start = index(row, col);
+        if (!test(zeros, start)) {
+            int before = revealedCount;
+            setCellStatus(start, CellStatus.REVEALED);
+            return revealedCount - before;
+        }
+
+        set(region, start);
+        int regionMinRow = row;
+        int regionMaxRow = row;
+
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+
+            // rows past the region that do not grow end the sweep, since
+            // nothing beyond them can be connected
+            for (int i = regionMinRow; i < rows; i++) {
+                if (fillRow(i, i - 1)) {
+                    changed = true;
+                    regionMaxRow = Math.max(regionMaxRow, i);
+                } else if (i > regionMaxRow) {
+                    break;
+                }
+            }
+            for (int i = regionMaxRow; i >= 0; i--) {
+                if (fillRow(i, i + 1)) {
+                    changed = true;
+                    regionMinRow = Math.min(regionMinRow, i);
+                } else if (i < regionMinRow) {
+                    break;
+                }
+            }
+        }
+
+        // reveal the region plus the numbered tiles bordering it
+        int newlyRevealed = 0;
+        int firstRow = Math.max(0, regionMinRow - 1);
+        int lastRow = Math.min(rows - 1, regionMaxRow + 1);
+        for (int i = firstRow; i <= lastRow; i++) {
+            int offset = i * wordsPerRow;
+            for (int w = 0; w < wordsPerRow; w++) {
+                long reveal = dilate(region, i, w) & ~bombs[offset + w] & ~revealed[offset + w];
+                if (w == wordsPerRow - 1) {
+                    reveal &= lastWordMask;
+                }
+                if (reveal != 0) {
+                    newlyRevealed += Long.bitCount(reveal);
+                    flaggedCount -= Long.bitCount(reveal & flagged[offset + w]);
+                    revealed[offset + w] |= reveal;
+                    flagged[offset + w] &= ~reveal;
+                    question[offset + w] &= ~reveal;
+                }
+            }
+        }
+        Arrays.fill(region, regionMinRow * wordsPerRow, (regionMaxRow + 1) * wordsPerRow, 0L);
+
+        revealedCount += newlyRevealed;
+        return newlyRevealed;
+    }
+
+    /*
+     * adds to the region every run of zero tiles in a row that touches the
+     * region, either in the same row or diagonally or directly in the
+     * adjacent row; returns true if the region grew
+     */
+    private boolean fillRow(int row, int adjacentRow) {
+        int offset = row * wordsPerRow;
+        boolean hasAdjacent = adjacentRow >= 0 && adjacentRow < rows;
+
+        // spread toward higher columns, carrying into the next word
+        long carry = 0;
+        for (int w = 0; w < wordsPerRow; w++) {
+            long mask = zeros[offset + w];
+            long seed = region[offset + w] | carry;
+            if (hasAdjacent) {
+                seed |= dilateRow(region, adjacentRow, w);
+            }
+            long filled = fillUp(seed & mask, mask);
+            rowScratch[w] = filled;
+            carry = filled >>> (Long.SIZE - 1);
+        }
+
+        // spread toward lower columns, carrying into the previous word
+        carry = 0;
+        boolean grew = false;
+        for (int w = wordsPerRow - 1; w >= 0; w--) {
+            long mask = zeros[offset + w];
+            long filled = fillDown((rowScratch[w] | carry) & mask, mask);
+            carry = filled << (Long.SIZE - 1);
+            if ((filled & ~region[offset + w]) != 0) {
+                region[offset + w] |= filled;
+                grew = true;
+            }
+        }
+        return grew;
+    }
+
+    /* Kogge-Stone fill of bits toward higher positions, through set bits of mask only */
+    private static long fillUp(long bits, long mask) {
+        bits |= mask & (bits << 1);
+        mask &= mask << 1;
+        bits |= mask & (bits << 2);
+        mask &= mask << 2;
+        bits |= mask & (bits << 4);
+        mask &= mask << 4;
+        bits |= mask & (bits << 8);
+        mask &= mask << 8;
+        bits |= mask & (bits << 16);
+        mask &= mask << 16;
+        return bits | (mask & (bits << 32));
+    }
+
+    /* Kogge-Stone fill of bits toward lower positions, through set bits of mask only */
+    private static long fillDown(long bits, long mask) {
+        bits |= mask & (bits >>> 1);
+        mask &= mask >>> 1;
+        bits |= mask & (bits >>> 2);
+        mask &= mask >>> 2;
+        bits |= mask & (bits >>> 4);
+        mask &= mask >>> 4;
+        bits |= mask & (bits >>> 8);
+        mask &= mask >>> 8;
+        bits |= mask & (bits >>> 16);
+        mask &= mask >>> 16;
+        return bits | (mask & (bits >>> 32));
+    }
+
+    /* word w of the 3x3 dilation of a bitset, taken at the given row */
+    private long dilate(long[] set, int row, int w) {
+        long result = dilateRow(set, row, w);
+        if (row > 0) {
+            result |= dilateRow(set, row - 1, w);
+        }
+        if (row < rows - 1) {
+            result |= dilateRow(set, row + 1, w);
+        }
+        return result;
+    }
+
+    /* word w of a bitset row with each bit also spread to the columns on either side of it */
+    private long dilateRow(long[] set, int row, int w) {
+        int offset = row * wordsPerRow;
+        long word = set[offset + w];
+        long left = w > 0 ? set[offset + w - 1] >>> (Long.SIZE - 1) : 0;
+        long right = w < wordsPerRow - 1 ? set[offset + w + 1] << (Long.SIZE - 1) : 0;
+        return word | (word << 1) | left | (word >>> 1) | right;
+    }
+
+    private int wordIndex(int index) {
+        return (index / cols) * wordsPerRow + (index % cols) / Long.SIZE;
+    }
+
+    private long bit(int index) {
+        return 1L << (index % cols);
+    }
+
+    private boolean test(long[] set, int index) {
+        return (set[wordIndex(index)] & bit(index)) != 0;
+    }
+
+    private void set(long[] set, int index) {
+        set[wordIndex(index)] |= bit(index);
+    }
+
+    private void assign(long[] set, int index, boolean value) {
+        if (value) {
+            set[wordIndex(index)] |= bit(index);
+        } else {
+            set[wordIndex(index)] &= ~bit(index);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.somerdin.minesweeper.game;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * Storage backend for the tiles of a {@link Minefield}. Tiles are addressed
+ * by flat row-major index ({@code row * cols + col}) and can be read as a
+ * single byte in the encoding defined by {@link PackedBoard}. Boards keep
+ * their own count of revealed and flagged tiles. Operations that touch many
+ * tiles at once have tile-by-tile default implementations that a backend
+ * can replace with faster bulk versions.
+ */
+public interface Board {
+    int rows();
+
+    int cols();
+
+    default int size() {
+        return rows() * cols();
+    }
+
+    default int index(int row, int col) {
+        return row * cols() + col;
+    }
+
+    /* tile encoded as described in PackedBoard */
+    byte get(int index);
+
+    default byte get(int row, int col) {
+        return get(index(row, col));
+    }
+
+    /* copies the encoded tiles of a row into tiles, which must have room for cols() entries */
+    default void getRow(int row, byte[] tiles) {
+        int offset = index(row, 0);
+        for (int j = 0; j < cols(); j++) {
+            tiles[j] = get(offset + j);
+        }
+    }
+
+    CellStatus getCellStatus(int index);
+
+    void setCellStatus(int index, CellStatus status);
+
+    boolean isBomb(int index);
+
+    void setBomb(int index, boolean bomb);
+
+    BombStatus getBombStatus(int index);
+
+    void setBombStatus(int index, BombStatus status);
+
+    int getNeighborCount(int index);
+
+    void setNeighborCount(int index, int count);
+
+    /* adds delta to the neighbor count of every valid tile in the 3x3 block centered on the given tile, excluding the center */
+    default void adjustNeighborCounts(int row, int col, int delta) {
+        int rowStart = Math.max(0, row - 1);
+        int rowEnd = Math.min(rows() - 1, row + 1);
+        int colStart = Math.max(0, col - 1);
+        int colEnd = Math.min(cols() - 1, col + 1);
+
+        for (int i = rowStart; i <= rowEnd; i++) {
+            for (int j = colStart; j <= colEnd; j++) {
+                if (i != row || j != col) {
+                    int index = index(i, j);
+                    setNeighborCount(index, getNeighborCount(index) + delta);
+                }
+            }
+        }
+    }
+
+    /* writes 1 to mask for each bomb tile in a row and 0 for every other tile */
+    default void getBombRow(int row, byte[] mask) {
+        int offset = index(row, 0);
+        for (int j = 0; j < cols(); j++) {
+            mask[j] = (byte) (isBomb(offset + j) ? 1 : 0);
+        }
+    }
+
+    /* sets the neighbor count of every tile in a row */
+    default void setNeighborCountRow(int row, byte[] counts) {
+        int offset = index(row, 0);
+        for (int j = 0; j < cols(); j++) {
+            setNeighborCount(offset + j, counts[j]);
+        }
+    }
+
+    /* appends the index of every bomb tile to tiles, in ascending order */
+    default void collectBombs(IntList tiles) {
+        for (int i = 0; i < size(); i++) {
+            if (isBomb(i)) {
+                tiles.add(i);
+            }
+        }
+    }
+
+    /* makes every tile hidden with no bomb, as on a newly created board */
+    void clear();
+
+    /* number of tiles with status REVEALED */
+    int revealedCount();
+
+    /* number of tiles with status FLAGGED */
+    int flaggedCount();
+
+    /*
+     * reveals a non-bomb tile; if it has no neighboring bombs, every tile
+     * reachable through other tiles with no neighboring bombs is revealed
+     * too. Returns the number of newly revealed tiles.
+     */
+    default int revealArea(int row, int col) {
+        int before = revealedCount();
+        int start = index(row, col);
+
+        setCellStatus(start, CellStatus.REVEALED);
+        if (getNeighborCount(start) != 0) {
+            return revealedCount() - before;
+        }
+
+        Queue<Integer> queue = new ArrayDeque<>();
+        queue.add(start);
+
+        while (!queue.isEmpty()) {
+            int index = queue.remove();
+            int r = index / cols();
+            int c = index % cols();
+
+            for (int i = Math.max(0, r - 1); i <= Math.min(rows() - 1, r + 1); i++) {
+                for (int j = Math.max(0, c - 1); j <= Math.min(cols() - 1, c + 1); j++) {
+                    int neighbor = index(i, j);
+                    if (getCellStatus(neighbor) != CellStatus.REVEALED && !isBomb(neighbor)) {
+                        setCellStatus(neighbor, CellStatus.REVEALED);
+
+                        if (getNeighborCount(neighbor) == 0) {
+                            queue.add(neighbor);
+                        }
+                    }
+                }
+            }
+        }
+        return revealedCount() - before;
+    }
+}
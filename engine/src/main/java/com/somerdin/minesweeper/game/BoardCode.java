@@ -0,0 +1,81 @@
+package com.somerdin.minesweeper.game;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Short, shareable text form of a board: its difficulty, the seed it was
+ * generated from, the settings that change how that seed is turned into a
+ * board, and the first move once it has been made. Starting a game from a
+ * board code reproduces the board exactly, e.g. {@code 16x30-21-2p6ybqv8ukhwr@7.15}
+ * for a hard board first opened at row 7, column 15, or
+ * {@code 2000x2000L-15-1b2vpz1lr1p5k} for a large one not yet opened.
+ * <p>
+ * A {@code -p} suffix marks a board whose bombs were placed before the first
+ * move rather than after it, and {@code -t} one where only the first tile,
+ * not its neighbors, was kept free of bombs.
+ */
+public record BoardCode(Difficulty difficulty, long seed, boolean placementDeferred, boolean startZero,
+                        int firstRow, int firstCol) {
+    /* firstRow and firstCol of a code for a board without a first move */
+    public static final int NO_MOVE = -1;
+
+    private static final Pattern CODE_PATTERN = Pattern.compile(
+            "(\\d+)x(\\d+)(L?)-(\\d+)-([0-9a-z]+)(-p)?(-t)?(?:@(\\d+)\\.(\\d+))?", Pattern.CASE_INSENSITIVE);
+
+    public BoardCode {
+        if ((firstRow == NO_MOVE) != (firstCol == NO_MOVE)) {
+            throw new IllegalArgumentException("First move needs both a row and a column.");
+        }
+        if (firstRow != NO_MOVE && (firstRow < 0 || firstRow >= difficulty.rows()
+                || firstCol < 0 || firstCol >= difficulty.cols())) {
+            throw new IllegalArgumentException("First move is outside the board.");
+        }
+    }
+
+    /* code for a board with the default settings and no first move yet */
+    public BoardCode(Difficulty difficulty, long seed) {
+        this(difficulty, seed, true, true, NO_MOVE, NO_MOVE);
+    }
+
+    public boolean hasFirstMove() {
+        return firstRow != NO_MOVE;
+    }
+
+    /* parses a code created by toString(); throws IllegalArgumentException if it is invalid */
+    public static BoardCode parse(String code) {
+        Matcher matcher = CODE_PATTERN.matcher(code.strip());
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Invalid board code.");
+        }
+        try {
+            Difficulty difficulty = new Difficulty(
+                    Integer.parseInt(matcher.group(1)),
+                    Integer.parseInt(matcher.group(2)),
+                    Integer.parseInt(matcher.group(4)),
+                    !matcher.group(3).isEmpty());
+            long seed = Long.parseUnsignedLong(matcher.group(5).toLowerCase(), Character.MAX_RADIX);
+            boolean hasMove = matcher.group(8) != null;
+            return new BoardCode(
+                    difficulty,
+                    seed,
+                    matcher.group(6) == null,
+                    matcher.group(7) == null,
+                    hasMove ? Integer.parseInt(matcher.group(8)) : NO_MOVE,
+                    hasMove ? Integer.parseInt(matcher.group(9)) : NO_MOVE);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid board code.", e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return difficulty.rows() + "x" + difficulty.cols()
+                + (difficulty.large() ? "L" : "")
+                + "-" + difficulty.bombPercent()
+                + "-" + Long.toUnsignedString(seed, Character.MAX_RADIX)
+                + (placementDeferred ? "" : "-p")
+                + (startZero ? "" : "-t")
+                + (hasFirstMove() ? "@" + firstRow + "." + firstCol : "");
+    }
+}
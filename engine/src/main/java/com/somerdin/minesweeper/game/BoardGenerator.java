@@ -0,0 +1,179 @@
+package com.somerdin.minesweeper.game;
+
+import java.util.SplittableRandom;
+
+/**
+ * Places bombs on a {@link Board} and fills in its neighbor counts.
+ * Bomb tiles are sampled directly with Floyd's algorithm, so placing k bombs
+ * costs O(k) random draws no matter how large the board is, and every
+ * placement is equally likely. The board's own bomb bits serve as the sample
+ * set, so no extra memory is used. A small set of tiles, such as the 3x3
+ * block around the first move, can be excluded so they never get a bomb
+ * without rescanning the board afterwards.
+ */
+public final class BoardGenerator {
+    private static final int[] NO_EXCLUDED_TILES = new int[0];
+
+    // the Vector API is an incubating module, so it is only used when it was
+    // added at launch with --add-modules jdk.incubator.vector; setting
+    // -Dminesweeper.scalarCounts=true turns it off anyway
+    private static final boolean VECTOR_AVAILABLE =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+                    && !Boolean.getBoolean("minesweeper.scalarCounts");
+
+    private BoardGenerator() {
+
+    }
+
+    /* places bombs on an empty board and computes every tile's neighbor count */
+    public static void generate(Board board, int bombCount, SplittableRandom random) {
+        generate(board, bombCount, random, NO_EXCLUDED_TILES);
+    }
+
+    /* like generate(), but none of the excluded tile indices will contain a bomb */
+    public static void generate(Board board, int bombCount, SplittableRandom random, int[] excludedTiles) {
+        placeBombs(board, bombCount, random, excludedTiles);
+        computeNeighborCounts(board);
+    }
+
+    /* tile indices of the 3x3 block centered on a tile, clipped to the board, in ascending order */
+    public static int[] neighborhood(Board board, int row, int col) {
+        int rowStart = Math.max(0, row - 1);
+        int rowEnd = Math.min(board.rows() - 1, row + 1);
+        int colStart = Math.max(0, col - 1);
+        int colEnd = Math.min(board.cols() - 1, col + 1);
+
+        int[] tiles = new int[(rowEnd - rowStart + 1) * (colEnd - colStart + 1)];
+        int k = 0;
+        for (int i = rowStart; i <= rowEnd; i++) {
+            for (int j = colStart; j <= colEnd; j++) {
+                tiles[k++] = board.index(i, j);
+            }
+        }
+        return tiles;
+    }
+
+    /*
+     * chooses bombCount distinct tiles uniformly at random, skipping the
+     * excluded tiles, and sets their bomb bit; excluded tiles must be sorted
+     * in ascending order and neighbor counts are not touched
+     */
+    public static void placeBombs(Board board, int bombCount, SplittableRandom random, int[] excludedTiles) {
+        int available = board.size() - excludedTiles.length;
+        if (bombCount < 0 || bombCount > available) {
+            throw new IllegalArgumentException("Bomb count must be between 0 and number of available tiles.");
+        }
+
+        // on dense boards it is cheaper to sample the empty tiles instead
+        if (bombCount > available / 2) {
+            for (int i = 0; i < available; i++) {
+                board.setBomb(skipExcluded(i, excludedTiles), true);
+            }
+            floydSample(board, available, available - bombCount, random, excludedTiles, false);
+        } else {
+            floydSample(board, available, bombCount, random, excludedTiles, true);
+        }
+    }
+
+    /*
+     * recomputes the neighbor count of every tile from bomb bits in a single
+     * pass over the board, with the Vector API when it is available
+     */
+    public static void computeNeighborCounts(Board board) {
+        computeNeighborCounts(board, VECTOR_AVAILABLE);
+    }
+
+    /* like computeNeighborCounts(), choosing the vectorized or scalar row kernel; both give the same counts */
+    public static void computeNeighborCounts(Board board, boolean vectorized) {
+        if (vectorized && !VECTOR_AVAILABLE) {
+            throw new IllegalStateException("Vector API module jdk.incubator.vector is not available.");
+        }
+        int rows = board.rows();
+        int cols = board.cols();
+
+        // bomb masks of the rows above, at and below the current row; rows
+        // past the edge of the board are all zero
+        byte[] empty = new byte[cols];
+        byte[] above = empty;
+        byte[] row = new byte[cols];
+        byte[] below = new byte[cols];
+        byte[] columnSums = new byte[cols + 2];
+        byte[] counts = new byte[cols];
+
+        board.getBombRow(0, row);
+        for (int i = 0; i < rows; i++) {
+            if (i < rows - 1) {
+                board.getBombRow(i + 1, below);
+            } else {
+                below = empty;
+            }
+
+            if (vectorized) {
+                VectorNeighborCounts.countRow(above, row, below, columnSums, counts, cols);
+            } else {
+                countRow(above, row, below, columnSums, counts, cols);
+            }
+            board.setNeighborCountRow(i, counts);
+
+            // rotate the row buffers, reusing the oldest one for the next row
+            byte[] free = above == empty ? new byte[cols] : above;
+            above = row;
+            row = below;
+            below = free;
+        }
+    }
+
+    /* true if the Vector API module was added at launch, so neighbor counts are vectorized */
+    public static boolean isVectorAvailable() {
+        return VECTOR_AVAILABLE;
+    }
+
+    /*
+     * computes the neighbor counts of a row from the bomb masks (1 for a
+     * bomb, 0 otherwise) of it and the rows around it; columnSums is scratch
+     * space with room for cols + 2 entries
+     */
+    static void countRow(byte[] above, byte[] row, byte[] below, byte[] columnSums, byte[] counts, int cols) {
+        // bombs in each column of the three rows, shifted one entry right so
+        // the columns either side of the board read as zero
+        for (int j = 0; j < cols; j++) {
+            columnSums[j + 1] = (byte) (above[j] + row[j] + below[j]);
+        }
+        columnSums[0] = 0;
+        columnSums[cols + 1] = 0;
+
+        for (int j = 0; j < cols; j++) {
+            counts[j] = (byte) (columnSums[j] + columnSums[j + 1] + columnSums[j + 2] - row[j]);
+        }
+    }
+
+    /*
+     * Floyd's algorithm: marks sampleSize distinct tiles out of the available
+     * (non-excluded) tiles, setting their bomb bit to the given value
+     */
+    private static void floydSample(Board board,
+                                    int available,
+                                    int sampleSize,
+                                    SplittableRandom random,
+                                    int[] excludedTiles,
+                                    boolean bomb) {
+        for (int j = available - sampleSize; j < available; j++) {
+            int t = skipExcluded(random.nextInt(j + 1), excludedTiles);
+            if (board.isBomb(t) == bomb) {
+                t = skipExcluded(j, excludedTiles);
+            }
+            board.setBomb(t, bomb);
+        }
+    }
+
+    /* maps an index among the available tiles to a tile index on the board */
+    private static int skipExcluded(int index, int[] excludedTiles) {
+        for (int excluded : excludedTiles) {
+            if (index < excluded) {
+                break;
+            }
+            index++;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,24 @@
+package com.somerdin.minesweeper.game;
+
+/* available storage backends for a minefield's tiles */
+public enum BoardType {
+    // one byte per tile; the default
+    PACKED,
+    // bitsets per row, with word-wide flood fill and bulk operations
+    BITBOARD;
+
+    public Board create(int rows, int cols) {
+        return switch (this) {
+            case PACKED -> new PackedBoard(rows, cols);
+            case BITBOARD -> new BitBoard(rows, cols);
+        };
+    }
+
+    /* true if the board was created by this backend */
+    public boolean isTypeOf(Board board) {
+        return switch (this) {
+            case PACKED -> board instanceof PackedBoard;
+            case BITBOARD -> board instanceof BitBoard;
+        };
+    }
+}
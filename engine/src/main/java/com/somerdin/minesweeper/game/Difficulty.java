@@ -0,0 +1,59 @@
+package com.somerdin.minesweeper.game;
+
+public record Difficulty(int rows, int cols, int bombPercent, boolean large) {
+    public static final int MIN_BOMB_PERCENT = 1;
+    public static final int MAX_BOMB_PERCENT = 99;
+
+    public static final int MIN_ROWS = 4;
+    public static final int MAX_ROWS = 80;
+    public static final int MIN_COLS = 4;
+    public static final int MAX_COLS = 80;
+
+    // row and column caps for large boards; the memory budget is usually the tighter limit
+    public static final int LARGE_MAX_ROWS = 20_000;
+    public static final int LARGE_MAX_COLS = 20_000;
+
+    // approximate bytes the engine keeps per tile, rounded up to cover every
+    // board backend plus the opening index (a label and up to two list entries)
+    public static final int BYTES_PER_TILE = 14;
+
+    // memory budget for large boards in bytes, set with -Dminesweeper.largeBoardBudget=<bytes>
+    public static final long LARGE_BOARD_BUDGET = Long.getLong("minesweeper.largeBoardBudget", 256L * 1024 * 1024);
+
+    public static final Difficulty EASY = new Difficulty(8, 8, 16);
+    public static final Difficulty MEDIUM = new Difficulty(16, 16, 16);
+    public static final Difficulty HARD = new Difficulty(16, 30, 21);
+
+    public Difficulty {
+        int maxRows = large ? LARGE_MAX_ROWS : MAX_ROWS;
+        int maxCols = large ? LARGE_MAX_COLS : MAX_COLS;
+        if (rows < MIN_ROWS || cols < MIN_COLS || rows > maxRows || cols > maxCols) {
+            throw new IllegalArgumentException("Row and column count must be between min and max.");
+        }
+        if (bombPercent < MIN_BOMB_PERCENT || bombPercent > MAX_BOMB_PERCENT) {
+            throw new IllegalArgumentException("Invalid bomb ratio.");
+        }
+        if (large && estimatedBytes(rows, cols) > LARGE_BOARD_BUDGET) {
+            throw new IllegalArgumentException("Board of " + rows + "x" + cols
+                    + " exceeds the large board memory budget of " + LARGE_BOARD_BUDGET + " bytes.");
+        }
+    }
+
+    public Difficulty(int rows, int cols, int bombPercent) {
+        this(rows, cols, bombPercent, false);
+    }
+
+    /* create a difficulty that may exceed the normal row and column caps, limited by the memory budget */
+    public static Difficulty large(int rows, int cols, int bombPercent) {
+        return new Difficulty(rows, cols, bombPercent, true);
+    }
+
+    /* approximate engine memory needed for a board of the given size */
+    public static long estimatedBytes(int rows, int cols) {
+        return (long) rows * cols * BYTES_PER_TILE;
+    }
+
+    public long estimatedBytes() {
+        return estimatedBytes(rows, cols);
+    }
+}
@@ -0,0 +1,62 @@
+package com.somerdin.minesweeper.game;
+
+import java.util.Arrays;
+
+/* growable list of primitive ints, used for tile indices without boxing */
+public final class IntList {
+    private int[] values;
+    private int size;
+
+    public IntList() {
+        this(16);
+    }
+
+    public IntList(int capacity) {
+        values = new int[Math.max(1, capacity)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int get(int i) {
+        if (i >= size) {
+            throw new IndexOutOfBoundsException(i);
+        }
+        return values[i];
+    }
+
+    public void set(int i, int value) {
+        if (i >= size) {
+            throw new IndexOutOfBoundsException(i);
+        }
+        values[i] = value;
+    }
+
+    public void add(int value) {
+        if (size == values.length) {
+            values = Arrays.copyOf(values, values.length * 2);
+        }
+        values[size++] = value;
+    }
+
+    /* removes and returns the last value */
+    public int removeLast() {
+        if (size == 0) {
+            throw new IllegalStateException("List is empty.");
+        }
+        return values[--size];
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
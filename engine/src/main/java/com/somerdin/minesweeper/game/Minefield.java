@@ -0,0 +1,892 @@
+package com.somerdin.minesweeper.game;
+
+import java.io.*;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class Minefield {
+    // controls whether first tile clicked always has zero neighbors
+    private boolean isStartZero = true;
+
+    // controls whether bombs are placed only after the first move, so the
+    // first move's safe tiles are excluded when placing instead of having
+    // bombs moved off them afterwards
+    private boolean isPlacementDeferred = true;
+
+    // controls whether openings are indexed once per board so revealing one
+    // does not search for it again
+    private boolean isOpeningIndexed = true;
+
+    private static final MinefieldListener[] NO_LISTENERS = new MinefieldListener[0];
+
+    // replaced rather than modified, so listeners can be added or removed while being notified
+    private MinefieldListener[] listeners = NO_LISTENERS;
+    // counts as listeners were last told of them
+    private int publishedBombCount;
+    private int publishedFlaggedCount;
+    private int publishedRevealedCount;
+    private boolean firstMove = true;
+    private GameResult result;
+
+    // tiles changed since listeners were last told of them
+    private final TileBounds changedTiles = new TileBounds();
+
+    // number of bombs on the board; the published count only follows it when counts are published
+    private int bombTotal;
+    // nesting depth of beginMove() calls; counts are published when it returns to zero
+    private int moveDepth;
+
+    private BoardType boardType = BoardType.PACKED;
+    private Board board;
+    // null until bombs are placed, or if openings are not indexed
+    private OpeningIndex openingIndex;
+    // index of the last game, kept so a new game on the same board can reuse its arrays
+    private OpeningIndex spareOpeningIndex;
+    // index of every bomb tile, so the end of a game only touches bombs
+    private IntList bombTiles = new IntList();
+
+    private int percentBomb;
+    private Difficulty difficulty;
+
+    // bombs still to be placed when placement is deferred until the first move
+    private int pendingBombCount;
+
+    // settings the current game was started with, which its board code records
+    private boolean startedDeferred;
+    private boolean startedZero;
+    // first move of the current game, or BoardCode.NO_MOVE before it is made
+    private int firstMoveRow = BoardCode.NO_MOVE;
+    private int firstMoveCol = BoardCode.NO_MOVE;
+
+    // the whole board, including first move bomb relocation, is derived from this seed
+    private long seed;
+    // false for boards loaded from a file, which no seed reproduces
+    private boolean seeded;
+    private SplittableRandom random;
+
+    public Minefield(int rows,
+                     int cols,
+                     int percent,
+                     boolean startZero,
+                     int fillBlocks) {
+
+    }
+
+    /* create a randomly-generated minefield of given size and bomb density */
+    public Minefield(Difficulty difficulty) {
+        startNewGame(difficulty);
+    }
+
+    private Minefield() {
+
+    }
+
+    public void startNewGame(Difficulty difficulty) {
+        startNewGame(difficulty, ThreadLocalRandom.current().nextLong());
+    }
+
+    /*
+     * start a new game from a seed; the same seed, difficulty, settings and
+     * first move always produce the same board
+     */
+    public void startNewGame(Difficulty difficulty, long seed) {
+        startNewGame(difficulty, seed, isPlacementDeferred, isStartZero);
+    }
+
+    /*
+     * start the exact board of a code, with the settings it was generated
+     * with for this game only, replaying its first move if it has one
+     */
+    public void startNewGame(BoardCode code) {
+        startNewGame(code.difficulty(), code.seed(), code.placementDeferred(), code.startZero());
+        if (code.hasFirstMove()) {
+            chooseCell(code.firstRow(), code.firstCol());
+        }
+    }
+
+    private void startNewGame(Difficulty difficulty, long seed, boolean deferred, boolean startZero) {
+        setFirstMove(true);
+        setResult(GameResult.IN_PROGRESS);
+
+        this.difficulty = difficulty;
+        this.seed = seed;
+        this.seeded = true;
+        startedDeferred = deferred;
+        startedZero = startZero;
+        firstMoveRow = BoardCode.NO_MOVE;
+        firstMoveCol = BoardCode.NO_MOVE;
+        this.random = new SplittableRandom(seed);
+        percentBomb = difficulty.bombPercent();
+
+        int tiles = difficulty.rows() * difficulty.cols();
+        int bombsToPlace = (int) (tiles * (percentBomb / 100D));
+        bombsToPlace = Math.clamp(bombsToPlace, 1, tiles - 9);
+
+        // set class fields; every tile starts hidden with no bomb, on the last
+        // game's board if it has the same size and backend
+        if (board != null
+                && board.rows() == difficulty.rows()
+                && board.cols() == difficulty.cols()
+                && boardType.isTypeOf(board)) {
+            board.clear();
+            if (openingIndex != null) {
+                spareOpeningIndex = openingIndex;
+            }
+        } else {
+            board = boardType.create(difficulty.rows(), difficulty.cols());
+            spareOpeningIndex = null;
+        }
+        openingIndex = null;
+        bombTiles.clear();
+
+        if (deferred) {
+            pendingBombCount = bombsToPlace;
+        } else {
+            pendingBombCount = 0;
+            BoardGenerator.generate(board, bombsToPlace, random);
+            indexBoard();
+        }
+        bombTotal = bombsToPlace;
+        changedTiles.clear();
+        changedTiles.addAll(board);
+        publishChanges();
+    }
+
+    /*
+     * creates a minefield with this one's settings and starts a game on it
+     * from a seed, so a board can be prepared on another thread and handed
+     * to startNewGame(Minefield) when it is needed
+     */
+    public Minefield prepareNewGame(Difficulty difficulty, long seed) {
+        return prepareNewGame(difficulty, seed, isPlacementDeferred);
+    }
+
+    /*
+     * like prepareNewGame(Difficulty, long) but with bomb placement deferred
+     * or not for this game only; placing bombs up front generates and
+     * indexes the whole board on the preparing thread, leaving the first
+     * move to relocate at most the nine bombs around it
+     */
+    public Minefield prepareNewGame(Difficulty difficulty, long seed, boolean placementDeferred) {
+        Minefield prepared = new Minefield();
+        prepared.isStartZero = isStartZero;
+        prepared.isPlacementDeferred = isPlacementDeferred;
+        prepared.isOpeningIndexed = isOpeningIndexed;
+        prepared.boardType = boardType;
+        prepared.startNewGame(difficulty, seed, placementDeferred, isStartZero);
+        return prepared;
+    }
+
+    /*
+     * continues the game of a prepared minefield, which may already have
+     * moves played on it, by taking over its board instead of copying it;
+     * the prepared minefield must not be used afterwards
+     */
+    public void startNewGame(Minefield prepared) {
+        if (prepared == this || prepared.board == null) {
+            throw new IllegalArgumentException("Minefield has no prepared game to take over.");
+        }
+        difficulty = prepared.difficulty;
+        seed = prepared.seed;
+        seeded = prepared.seeded;
+        startedDeferred = prepared.startedDeferred;
+        startedZero = prepared.startedZero;
+        firstMoveRow = prepared.firstMoveRow;
+        firstMoveCol = prepared.firstMoveCol;
+        random = prepared.random;
+        percentBomb = prepared.percentBomb;
+        board = prepared.board;
+        openingIndex = prepared.openingIndex;
+        spareOpeningIndex = null;
+        bombTiles = prepared.bombTiles;
+        pendingBombCount = prepared.pendingBombCount;
+        bombTotal = prepared.bombTotal;
+        prepared.board = null;
+
+        setFirstMove(prepared.getFirstMove());
+        setResult(prepared.getGameResult());
+        changedTiles.clear();
+        changedTiles.addAll(board);
+        publishChanges();
+    }
+
+    public BoardType getBoardType() {
+        return boardType;
+    }
+
+    /* sets the storage backend for tiles; takes effect on the next new game */
+    public void setBoardType(BoardType type) {
+        boardType = type;
+    }
+
+    public boolean isPlacementDeferred() {
+        return isPlacementDeferred;
+    }
+
+    /* sets whether bombs are placed after the first move; takes effect on the next new game */
+    public void setPlacementDeferred(boolean deferred) {
+        isPlacementDeferred = deferred;
+    }
+
+    public boolean isOpeningIndexed() {
+        return isOpeningIndexed;
+    }
+
+    /* sets whether openings are indexed when bombs are placed; takes effect on the next new game */
+    public void setOpeningIndexed(boolean indexed) {
+        isOpeningIndexed = indexed;
+    }
+
+    public CellStatus getCellStatus(int row, int col) {
+        return board.getCellStatus(board.index(row, col));
+    }
+
+    public BombStatus getBombStatus(int row, int col) {
+        return board.getBombStatus(board.index(row, col));
+    }
+
+    public boolean isBomb(int row, int col) {
+        return board.isBomb(board.index(row, col));
+    }
+
+    /* raw packed tile; decode with the static helpers in PackedBoard */
+    public byte getTile(int row, int col) {
+        return board.get(row, col);
+    }
+
+    /*
+     * copies the raw packed tiles of a row into tiles, which must have room
+     * for colCount() entries; lets renderers read a whole row without
+     * per-tile calls or allocation
+     */
+    public void getTileRow(int row, byte[] tiles) {
+        if (tiles.length < colCount()) {
+            throw new IllegalArgumentException("Tile buffer is shorter than a row.");
+        }
+        board.getRow(row, tiles);
+    }
+
+    /* listeners are called on the thread that changes the minefield, in the order they were added */
+    public void addListener(MinefieldListener listener) {
+        listeners = Arrays.copyOf(listeners, listeners.length + 1);
+        listeners[listeners.length - 1] = listener;
+    }
+
+    public void removeListener(MinefieldListener listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i] == listener) {
+                MinefieldListener[] remaining = new MinefieldListener[listeners.length - 1];
+                System.arraycopy(listeners, 0, remaining, 0, i);
+                System.arraycopy(listeners, i + 1, remaining, i, remaining.length - i);
+                listeners = remaining;
+                return;
+            }
+        }
+    }
+
+    public GameResult getGameResult() {
+        return result;
+    }
+
+    public int getBombCount() {
+        return bombTotal;
+    }
+
+    public int getFlaggedCount() {
+        return board.flaggedCount();
+    }
+
+    public int getRevealedCount() {
+        return board.revealedCount();
+    }
+
+    public boolean getFirstMove() {
+        return firstMove;
+    }
+
+    /* number of neighboring tiles that contain a bomb, kept up to date as bombs are placed */
+    public int neighborCount(int row, int col) {
+        return board.getNeighborCount(board.index(row, col));
+    }
+
+    public int rowCount() {
+        return board.rows();
+    }
+
+    public int colCount() {
+        return board.cols();
+    }
+
+    /* seed the current board was generated from; boards loaded from a file have seed 0 */
+    public long getSeed() {
+        return seed;
+    }
+
+    /*
+     * code that starts this board again, with its first move once it is
+     * made, or null if it was loaded from a file rather than generated from
+     * a seed
+     */
+    public BoardCode getBoardCode() {
+        if (!seeded) {
+            return null;
+        }
+        return new BoardCode(getDifficulty(), seed, startedDeferred, startedZero, firstMoveRow, firstMoveCol);
+    }
+
+    public int getPercentBomb() {
+        return percentBomb;
+    }
+
+    public Difficulty getDifficulty() {
+        if (difficulty == null) {
+            // board was loaded from a file rather than generated; a hand-made
+            // file may be smaller than any game started from this difficulty
+            boolean large = rowCount() > Difficulty.MAX_ROWS || colCount() > Difficulty.MAX_COLS;
+            difficulty = new Difficulty(
+                    Math.max(rowCount(), Difficulty.MIN_ROWS),
+                    Math.max(colCount(), Difficulty.MIN_COLS),
+                    percentBomb,
+                    large);
+        }
+        return difficulty;
+    }
+
+    public void addBomb(int row, int col) {
+        int index = board.index(row, col);
+        assert !board.isBomb(index);
+
+        // neighbor counts are kept for every tile, including bomb tiles, so
+        // removing a bomb later leaves its own count already correct
+        board.setBomb(index, true);
+        board.adjustNeighborCounts(row, col, 1);
+        bombTiles.add(index);
+        if (openingIndex != null) {
+            openingIndex.markChanged(row, col);
+        }
+        changedTiles.addNeighborhood(board, row, col);
+        bombTotal++;
+        publishChanges();
+    }
+
+    public void removeBomb(int row, int col) {
+        int index = board.index(row, col);
+        assert board.isBomb(index);
+
+        board.setBomb(index, false);
+        board.adjustNeighborCounts(row, col, -1);
+        removeBombTile(index);
+        if (openingIndex != null) {
+            openingIndex.markChanged(row, col);
+        }
+        changedTiles.addNeighborhood(board, row, col);
+        bombTotal--;
+        publishChanges();
+    }
+
+    public void chooseCell(int row, int col) {
+        if (!validCell(row, col)) {
+            throw new IllegalArgumentException("Invalid row and/or col.");
+        }
+
+        GameResult outcome;
+        beginMove();
+        try {
+            outcome = revealCell(row, col);
+        } finally {
+            endMove();
+        }
+        setResult(outcome);
+    }
+
+    /*
+     * chords on a revealed number: if as many of its neighbors are flagged as
+     * it has neighboring bombs, every hidden neighbor is revealed, with
+     * cascades, as a single move. Does nothing if the tile cannot be chorded.
+     */
+    public void chord(int row, int col) {
+        if (!validCell(row, col)) {
+            throw new IllegalArgumentException("Invalid row and/or col.");
+        }
+        if (!isChordable(row, col)) {
+            return;
+        }
+
+        GameResult outcome = GameResult.IN_PROGRESS;
+        beginMove();
+        try {
+            for (int i = row - 1; i <= row + 1 && outcome == GameResult.IN_PROGRESS; i++) {
+                for (int j = col - 1; j <= col + 1 && outcome == GameResult.IN_PROGRESS; j++) {
+                    if (!validCell(i, j) || board.getCellStatus(board.index(i, j)) != CellStatus.HIDDEN) {
+                        continue;
+                    }
+                    // a bomb here means one of the flags around the number is wrong
+                    if (board.isBomb(board.index(i, j))) {
+                        outcome = detonate(board.index(i, j));
+                    } else {
+                        revealArea(i, j);
+                    }
+                }
+            }
+            if (outcome == GameResult.IN_PROGRESS) {
+                outcome = checkWon();
+            }
+        } finally {
+            endMove();
+        }
+        setResult(outcome);
+    }
+
+    /* true if the tile is a revealed number with exactly that many flagged neighbors during a game */
+    public boolean isChordable(int row, int col) {
+        int index = board.index(row, col);
+        if (result != GameResult.IN_PROGRESS
+                || board.getCellStatus(index) != CellStatus.REVEALED
+                || board.isBomb(index)
+                || board.getNeighborCount(index) == 0) {
+            return false;
+        }
+
+        int flags = 0;
+        for (int i = row - 1; i <= row + 1; i++) {
+            for (int j = col - 1; j <= col + 1; j++) {
+                if (validCell(i, j) && board.getCellStatus(board.index(i, j)) == CellStatus.FLAGGED) {
+                    flags++;
+                }
+            }
+        }
+        return flags == board.getNeighborCount(index);
+    }
+
+    public void toggleFlag(int row, int col) {
+        int index = board.index(row, col);
+        assert board.getCellStatus(index) != CellStatus.REVEALED;
+
+        switch (board.getCellStatus(index)) {
+            case HIDDEN -> board.setCellStatus(index, CellStatus.FLAGGED);
+            case FLAGGED -> board.setCellStatus(index, CellStatus.FLAGGED_QUESTION);
+            case FLAGGED_QUESTION -> board.setCellStatus(index, CellStatus.HIDDEN);
+            default -> throw new IllegalStateException("Can't toggle flag for this cell");
+        }
+        changedTiles.add(row, col);
+        publishChanges();
+    }
+
+    /*
+     * starts a batch of changes, such as a single move; listeners are not
+     * told of changed tiles or of changes to the bomb, flagged and revealed
+     * counts until the matching endMove(), so they hear of each at most once
+     * per batch. Batches can be nested.
+     */
+    public void beginMove() {
+        moveDepth++;
+    }
+
+    /* ends a batch of changes, publishing the changes when the outermost batch ends */
+    public void endMove() {
+        if (moveDepth == 0) {
+            throw new IllegalStateException("endMove() called without matching beginMove().");
+        }
+        moveDepth--;
+        publishChanges();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder board = new StringBuilder();
+
+        for (int i = 0; i < rowCount(); i++) {
+            StringBuilder row = new StringBuilder();
+            for (int j = 0; j < colCount(); j++) {
+                row.append(getCellChar(i, j));
+            }
+            board.append(row);
+            board.append(System.lineSeparator());
+        }
+        return board.toString();
+    }
+
+    /* reveals a non-bomb tile, and the whole opening around it if it has no neighboring bombs */
+    private void revealArea(int row, int col) {
+        if (openingIndex != null && openingIndex.reveal(board.index(row, col), changedTiles)) {
+            return;
+        }
+        // without the index the extent of a cascade is not known
+        if (board.revealArea(row, col) > 1) {
+            changedTiles.addAll(board);
+        } else {
+            changedTiles.add(row, col);
+        }
+    }
+
+    /* indexes the bombs on a newly filled board, and its openings if enabled */
+    private void indexBoard() {
+        bombTiles.clear();
+        board.collectBombs(bombTiles);
+        if (!isOpeningIndexed) {
+            openingIndex = null;
+        } else if (spareOpeningIndex != null && spareOpeningIndex.isFor(board)) {
+            openingIndex = spareOpeningIndex;
+            openingIndex.rebuild();
+        } else {
+            openingIndex = new OpeningIndex(board);
+        }
+        spareOpeningIndex = null;
+    }
+
+    /*
+     * bombs are only removed one at a time when moved off the first move's
+     * tiles, so a linear search of the index is cheap enough
+     */
+    private void removeBombTile(int index) {
+        for (int i = 0; i < bombTiles.size(); i++) {
+            if (bombTiles.get(i) == index) {
+                bombTiles.set(i, bombTiles.get(bombTiles.size() - 1));
+                bombTiles.removeLast();
+                return;
+            }
+        }
+    }
+
+    /*
+     * reveals every bomb that is not flagged; incorrect flags are left for
+     * the renderer to mark, so every tile is counted as changed
+     */
+    private void revealBombs() {
+        changedTiles.addAll(board);
+        for (int i = 0; i < bombTiles.size(); i++) {
+            int tile = bombTiles.get(i);
+            if (board.getCellStatus(tile) != CellStatus.FLAGGED) {
+                board.setCellStatus(tile, CellStatus.REVEALED);
+            }
+        }
+    }
+
+    private void flagBombs() {
+        changedTiles.addAll(board);
+        for (int i = 0; i < bombTiles.size(); i++) {
+            int tile = bombTiles.get(i);
+            if (board.getCellStatus(tile) != CellStatus.FLAGGED) {
+                board.setCellStatus(tile, CellStatus.FLAGGED);
+            }
+        }
+    }
+
+    /* tells listeners of changed tiles and counts, unless a batch is in progress */
+    private void publishChanges() {
+        if (moveDepth > 0) {
+            return;
+        }
+        if (!changedTiles.isEmpty()) {
+            int top = changedTiles.top();
+            int left = changedTiles.left();
+            int bottom = changedTiles.bottom();
+            int right = changedTiles.right();
+            changedTiles.clear();
+            for (MinefieldListener listener : listeners) {
+                listener.tilesChanged(this, top, left, bottom, right);
+            }
+        }
+        publishCounts();
+    }
+
+    /* tells listeners of changes to the bomb count and the board's revealed and flagged tile counts */
+    private void publishCounts() {
+        int flagged = board.flaggedCount();
+        int revealed = board.revealedCount();
+        if (bombTotal == publishedBombCount && flagged == publishedFlaggedCount && revealed == publishedRevealedCount) {
+            return;
+        }
+        publishedBombCount = bombTotal;
+        publishedFlaggedCount = flagged;
+        publishedRevealedCount = revealed;
+        for (MinefieldListener listener : listeners) {
+            listener.countsChanged(this);
+        }
+    }
+
+    private void setFirstMove(boolean first) {
+        if (firstMove != first) {
+            firstMove = first;
+            for (MinefieldListener listener : listeners) {
+                listener.firstMoveChanged(this);
+            }
+        }
+    }
+
+    private void setResult(GameResult outcome) {
+        if (result != outcome) {
+            result = outcome;
+            for (MinefieldListener listener : listeners) {
+                listener.gameResultChanged(this);
+            }
+        }
+    }
+
+    /* plays a move on a valid tile and returns the game result after it */
+    private GameResult revealCell(int row, int col) {
+        int selected = board.index(row, col);
+
+        // TODO: find cleaner way to express logic
+        if (firstMove) {
+            firstMoveRow = row;
+            firstMoveCol = col;
+            if (pendingBombCount > 0) {
+                placePendingBombs(row, col);
+            } else if (startedZero) {
+                moveStartingNeighbors(row, col);
+            } else if (board.isBomb(selected)) {
+                moveBombToFirstEmpty(row, col);
+            }
+            setFirstMove(false);
+        } else if (board.isBomb(selected)) {
+            return detonate(selected);
+        }
+
+        revealArea(row, col);
+        return checkWon();
+    }
+
+    /* ends the game on a bomb tile, revealing the other bombs */
+    private GameResult detonate(int index) {
+        revealBombs();
+        board.setCellStatus(index, CellStatus.REVEALED);
+        board.setBombStatus(index, BombStatus.DETONATED);
+        return GameResult.GAME_LOST;
+    }
+
+    /* flags every bomb and returns GAME_WON if every non-bomb tile is revealed */
+    private GameResult checkWon() {
+        if (board.revealedCount() == board.size() - bombTotal) {
+            flagBombs();
+            return GameResult.GAME_WON;
+        }
+        return GameResult.IN_PROGRESS;
+    }
+
+    /* returns true if cells are neighbors; cells cannot be the same */
+    private boolean areNeighbors(int i1, int j1, int i2, int j2) {
+        int rowDiff = i1 - i2;
+        int colDiff = j1 - j2;
+        return rowDiff >= -1 && rowDiff <= 1 && colDiff >= -1 && colDiff <= 1;
+    }
+
+    /* moves bomb at specified cell to first empty cell from top left */
+    private void moveBombToFirstEmpty(int row, int col) {
+        assert board.isBomb(board.index(row, col));
+
+        for (int i = 0; i < board.size(); i++) {
+            if (!board.isBomb(i)) {
+                removeBomb(row, col);
+                addBomb(i / colCount(), i % colCount());
+                break;
+            }
+        }
+    }
+
+    private void setRandomNonNeighborCellBomb(int row, int col) {
+        int i = random.nextInt(rowCount());
+        int j = random.nextInt(colCount());
+
+        int count = rowCount() * colCount();
+
+        for (int k = 0; k < count; k++) {
+            if (!board.isBomb(board.index(i, j))
+                    && !areNeighbors(row, col, i, j)) {
+                addBomb(i, j);
+                break;
+            }
+            j = (j + 1) % colCount();
+            if (j == 0) {
+                i = (i + 1) % rowCount();
+            }
+        }
+    }
+
+    /* places deferred bombs, keeping the first move's tile (and its neighbors, if start is zero) free */
+    private void placePendingBombs(int row, int col) {
+        int[] safeTiles = startedZero
+                ? BoardGenerator.neighborhood(board, row, col)
+                : new int[] {board.index(row, col)};
+
+        // the safe region must leave room for every bomb
+        int bombs = Math.min(pendingBombCount, board.size() - safeTiles.length);
+        BoardGenerator.generate(board, bombs, random, safeTiles);
+        indexBoard();
+        changedTiles.addAll(board);
+        pendingBombCount = 0;
+        bombTotal = bombs;
+    }
+
+    private void moveStartingNeighbors(int row, int col) {
+        for (int i = row - 1; i <= row + 1; i++) {
+            for (int j = col - 1; j <= col + 1; j++) {
+                if (validCell(i, j) && board.isBomb(board.index(i, j))){
+                    removeBomb(i, j);
+                    setRandomNonNeighborCellBomb(row, col);
+                }
+            }
+        }
+    }
+
+    private boolean validCell(int row, int col) {
+        return row >= 0 && row < rowCount() && col >= 0 && col < colCount();
+    }
+
+    private char getCellChar(int row, int col) {
+        byte tile = board.get(row, col);
+        char c;
+
+        if (PackedBoard.cellStatus(tile) == CellStatus.HIDDEN) {
+            c = '#';
+        } else if (PackedBoard.cellStatus(tile) == CellStatus.FLAGGED) {
+            c = 'F';
+        } else { // cell state is REVEALED
+            if (PackedBoard.isBomb(tile)) {
+                c = 'B';
+            } else {
+                c = (char) (PackedBoard.neighborCount(tile) + '0');
+            }
+        }
+        return c;
+    }
+
+    /* Utility class for serializing and deserializing a Minefield */
+    public static class MinefieldSerializer {
+        private static final char ROW_DIVIDER = '\n';
+        private static final char HIDDEN_EMPTY = '#';
+        private static final char REVEALED_EMPTY = 'X';
+        private static final char FLAGGED_EMPTY  = 'f';
+        private static final char QUESTION_EMPTY = 'q';
+        private static final char HIDDEN_BOMB = 'b';
+        private static final char REVEALED_BOMB = 'B';
+        private static final char FLAGGED_BOMB = 'F';
+        private static final char QUESTION_BOMB = 'Q';
+        private static final char DETONATED_BOMB = 'E';
+
+        /* create a minefield from text representation */
+        public static Minefield fromFile(File file) throws IOException {
+            Minefield minefield = new Minefield();
+
+            minefield.setFirstMove(true);
+            minefield.setResult(GameResult.IN_PROGRESS);
+            minefield.random = new SplittableRandom(minefield.seed);
+            minefield.startedZero = minefield.isStartZero;
+
+            // publish counts once the whole board has been read
+            minefield.beginMove();
+
+            // use two readers; one to determine dimensions of board to create,
+            // and other to determine how to fill the cells
+            try (BufferedReader dimensionReader = new BufferedReader(new FileReader(file));
+                 BufferedReader cellReader = new BufferedReader(new FileReader(file));) {
+                int rows = 0, cols = 0;
+
+                String line = dimensionReader.readLine();
+                rows++;
+                cols = line.length();
+
+                while (dimensionReader.readLine() != null) {
+                    rows++;
+                }
+
+                minefield.board = minefield.boardType.create(rows, cols);
+
+                int c;
+                int i = 0, j = 0;
+                while ((c = cellReader.read()) != -1) {
+                    switch (c) {
+                        case ROW_DIVIDER -> {
+                            j = -1;
+                            i++;
+                        }
+                        case REVEALED_BOMB -> setCell(minefield, i, j, CellStatus.REVEALED, true);
+                        case HIDDEN_BOMB -> setCell(minefield, i, j, CellStatus.HIDDEN, true);
+                        case FLAGGED_BOMB -> setCell(minefield, i, j, CellStatus.FLAGGED, true);
+                        case QUESTION_BOMB -> setCell(minefield, i, j, CellStatus.FLAGGED_QUESTION, true);
+                        case DETONATED_BOMB -> {
+                            setCell(minefield, i, j, CellStatus.REVEALED, true);
+                            minefield.board.setBombStatus(minefield.board.index(i, j), BombStatus.DETONATED);
+                        }
+                        case HIDDEN_EMPTY -> setCell(minefield, i, j, CellStatus.HIDDEN, false);
+                        case REVEALED_EMPTY -> setCell(minefield, i, j, CellStatus.REVEALED, false);
+                        case FLAGGED_EMPTY -> setCell(minefield, i, j, CellStatus.FLAGGED, false);
+                        case QUESTION_EMPTY -> setCell(minefield, i, j, CellStatus.FLAGGED_QUESTION, false);
+                        default -> throw new IllegalStateException("Unexpected character");
+                    }
+                    j++;
+                }
+            }
+            minefield.indexBoard();
+            // files hold only tiles, so the density is taken from the bombs loaded
+            minefield.percentBomb = Math.clamp(
+                    Math.round(100.0 * minefield.bombTotal / minefield.board.size()),
+                    Difficulty.MIN_BOMB_PERCENT,
+                    Difficulty.MAX_BOMB_PERCENT);
+            minefield.endMove();
+            return minefield;
+        }
+
+        /* writes a minefield's tiles to a file, without changing the minefield */
+        public static void writeToFile(File file, Minefield minefield) throws IOException {
+            Board board = minefield.board;
+            // a board saved before its first move would otherwise be saved with no bombs; they are
+            // placed on a copy, so the game still places its own around the first move
+            if (minefield.pendingBombCount > 0) {
+                Board placed = BoardType.PACKED.create(board.rows(), board.cols());
+                for (int i = 0; i < board.size(); i++) {
+                    placed.setCellStatus(i, board.getCellStatus(i));
+                }
+                BoardGenerator.placeBombs(placed, minefield.pendingBombCount, new SplittableRandom(minefield.seed), new int[0]);
+                board = placed;
+            }
+
+            try (FileWriter out = new FileWriter(file)) {
+                for (int i = 0; i < board.rows(); i++) {
+                    for (int j = 0; j < board.cols(); j++) {
+                        byte tile = board.get(i, j);
+                        switch (PackedBoard.cellStatus(tile)) {
+                            case HIDDEN -> {
+                                switch (PackedBoard.bombStatus(tile)) {
+                                    case NONE -> out.append(HIDDEN_EMPTY);
+                                    case UNDETONATED -> out.append(HIDDEN_BOMB);
+                                    default -> throw new IllegalArgumentException("Bomb should not be detonated.");
+                                }
+                            }
+                            case REVEALED -> {
+                                switch (PackedBoard.bombStatus(tile)) {
+                                    case NONE -> out.append(REVEALED_EMPTY);
+                                    case UNDETONATED -> out.append(REVEALED_BOMB);
+                                    case DETONATED -> out.append(DETONATED_BOMB);
+                                }
+                            }
+                            case FLAGGED -> {
+                                switch (PackedBoard.bombStatus(tile)) {
+                                    case NONE -> out.append(FLAGGED_EMPTY);
+                                    case UNDETONATED -> out.append(FLAGGED_BOMB);
+                                    default -> throw new IllegalArgumentException("Bomb should not be detonated.");
+                                }
+                            }
+                            case FLAGGED_QUESTION -> {
+                                switch (PackedBoard.bombStatus(tile)) {
+                                    case NONE -> out.append(QUESTION_EMPTY);
+                                    case UNDETONATED -> out.append(QUESTION_BOMB);
+                                    default -> throw new IllegalArgumentException("Bomb should not be detonated.");
+                                }
+                            }
+                        }
+                    }
+                    out.append(ROW_DIVIDER);
+                }
+            }
+        }
+
+        private static void setCell(Minefield minefield, int row, int col, CellStatus status, boolean bomb) {
+            minefield.board.setCellStatus(minefield.board.index(row, col), status);
+            if (bomb) {
+                minefield.addBomb(row, col);
+            }
+        }
+    }
+}
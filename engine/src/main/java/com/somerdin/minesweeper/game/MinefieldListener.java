@@ -0,0 +1,29 @@
+package com.somerdin.minesweeper.game;
+
+/*
+ * notified of changes to a minefield's published state; each method is
+ * called only when its value actually changed, and does nothing by default
+ */
+public interface MinefieldListener {
+    /*
+     * tiles within the rectangle from top left to bottom right, inclusive,
+     * may have changed; called at most once per batch of changes, before the
+     * counts, so renderers can redraw only those tiles
+     */
+    default void tilesChanged(Minefield minefield, int top, int left, int bottom, int right) {
+
+    }
+
+    /* the bomb, flagged or revealed count changed; called at most once per batch of changes */
+    default void countsChanged(Minefield minefield) {
+
+    }
+
+    default void firstMoveChanged(Minefield minefield) {
+
+    }
+
+    default void gameResultChanged(Minefield minefield) {
+
+    }
+}
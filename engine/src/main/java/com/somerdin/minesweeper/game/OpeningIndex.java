@@ -0,0 +1,302 @@
+package com.somerdin.minesweeper.game;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Index of the openings on a board, where an opening is a maximal
+ * 8-connected region of non-bomb tiles with no neighboring bombs. The tiles
+ * of each opening and the numbered tiles bordering it are found once when the
+ * index is built, so revealing an opening is a walk over a precomputed list
+ * instead of a search.
+ * <p>
+ * Bombs added or removed after the index is built are recorded with
+ * {@link #markChanged(int, int)}; only the openings near them are rebuilt,
+ * the next time the index is used.
+ */
+final class OpeningIndex {
+    private record Opening(int[] members, int[] border) {
+
+    }
+
+    private final Board board;
+    private final int rows;
+    private final int cols;
+
+    // opening id + 1 of each tile, or 0 if the tile is not in an opening
+    private final int[] labels;
+    // openings by id; rebuilt openings leave a null behind
+    private final List<Opening> openings = new ArrayList<>();
+    // tiles whose bomb was added or removed since the index was last brought up to date
+    private final IntList changedTiles = new IntList();
+
+    OpeningIndex(Board board) {
+        this.board = board;
+        this.rows = board.rows();
+        this.cols = board.cols();
+        this.labels = new int[board.size()];
+        build();
+    }
+
+    /* true if this index was built for the board, which may since have been cleared and refilled */
+    boolean isFor(Board board) {
+        return this.board == board;
+    }
+
+    /* indexes the board again from scratch after it was refilled, reusing the label array */
+    void rebuild() {
+        Arrays.fill(labels, 0);
+        openings.clear();
+        changedTiles.clear();
+        build();
+    }
+
+    /* records that a bomb was added to or removed from a tile */
+    void markChanged(int row, int col) {
+        changedTiles.add(board.index(row, col));
+    }
+
+    /*
+     * reveals every tile of the opening containing the tile and its border,
+     * adding the tiles that may have changed to changed; returns false if
+     * the tile is not in an opening
+     */
+    boolean reveal(int index, TileBounds changed) {
+        update();
+
+        int label = labels[index];
+        if (label == 0) {
+            return false;
+        }
+        Opening opening = openings.get(label - 1);
+        revealAll(opening.members());
+        revealAll(opening.border());
+        addBounds(opening.members(), changed);
+        return true;
+    }
+
+    private void revealAll(int[] tiles) {
+        for (int tile : tiles) {
+            if (board.getCellStatus(tile) != CellStatus.REVEALED) {
+                board.setCellStatus(tile, CellStatus.REVEALED);
+            }
+        }
+    }
+
+    /* the border is the ring of tiles around the members, so it lies within one tile of their bounding box */
+    private void addBounds(int[] members, TileBounds changed) {
+        int top = rows;
+        int left = cols;
+        int bottom = -1;
+        int right = -1;
+        for (int member : members) {
+            int row = member / cols;
+            int col = member - row * cols;
+            top = Math.min(top, row);
+            left = Math.min(left, col);
+            bottom = Math.max(bottom, row);
+            right = Math.max(right, col);
+        }
+        changed.add(Math.max(0, top - 1),
+                Math.max(0, left - 1),
+                Math.min(rows - 1, bottom + 1),
+                Math.min(cols - 1, right + 1));
+    }
+
+    private boolean isZero(int index) {
+        return !board.isBomb(index) && board.getNeighborCount(index) == 0;
+    }
+
+    /*
+     * labels every opening with union-find in a single row-major pass, then
+     * gives each opening a compact id and fills in its member and border lists
+     */
+    private void build() {
+        // labels hold parent index + 1; roots are always the smallest index in their set
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                int index = i * cols + j;
+                if (!isZero(index)) {
+                    continue;
+                }
+                labels[index] = index + 1;
+
+                // tiles next to each other in a row are already in the same
+                // set, so the tile above covers both diagonals above, and the
+                // tile to the left covers the diagonal above it
+                boolean hasLeft = j > 0 && labels[index - 1] != 0;
+                if (i > 0) {
+                    int up = index - cols;
+                    if (labels[up] != 0) {
+                        union(index, up);
+                    } else {
+                        if (!hasLeft && j > 0 && labels[up - 1] != 0) {
+                            union(index, up - 1);
+                        }
+                        if (j < cols - 1 && labels[up + 1] != 0) {
+                            union(index, up + 1);
+                        }
+                    }
+                }
+                if (hasLeft) {
+                    union(index, index - 1);
+                }
+            }
+        }
+
+        // every parent has a smaller index than its child, so it already has
+        // its final id (stored negated) by the time the child is reached
+        int count = 0;
+        IntList memberCounts = new IntList();
+        for (int index = 0; index < labels.length; index++) {
+            if (labels[index] == 0) {
+                continue;
+            }
+            int parent = labels[index] - 1;
+            if (parent == index) {
+                labels[index] = -(++count);
+                memberCounts.add(1);
+            } else {
+                labels[index] = labels[parent];
+                int id = -labels[index] - 1;
+                memberCounts.set(id, memberCounts.get(id) + 1);
+            }
+        }
+
+        int[][] members = new int[count][];
+        for (int id = 0; id < count; id++) {
+            members[id] = new int[memberCounts.get(id)];
+        }
+        int[] filled = new int[count];
+        for (int index = 0; index < labels.length; index++) {
+            if (labels[index] < 0) {
+                int id = -labels[index] - 1;
+                members[id][filled[id]++] = index;
+                labels[index] = id + 1;
+            }
+        }
+
+        IntList border = new IntList();
+        for (int id = 0; id < count; id++) {
+            openings.add(new Opening(members[id], collectBorder(members[id], border)));
+        }
+    }
+
+    /*
+     * finds the numbered tiles bordering a fully labeled opening; border tiles
+     * are marked with a label of -1 while collecting so each is added once
+     */
+    private int[] collectBorder(int[] members, IntList border) {
+        border.clear();
+        for (int member : members) {
+            int row = member / cols;
+            int col = member % cols;
+            for (int i = Math.max(0, row - 1); i <= Math.min(rows - 1, row + 1); i++) {
+                for (int j = Math.max(0, col - 1); j <= Math.min(cols - 1, col + 1); j++) {
+                    int neighbor = i * cols + j;
+                    if (labels[neighbor] == 0 && !board.isBomb(neighbor)) {
+                        labels[neighbor] = -1;
+                        border.add(neighbor);
+                    }
+                }
+            }
+        }
+        for (int k = 0; k < border.size(); k++) {
+            labels[border.get(k)] = 0;
+        }
+        return border.toArray();
+    }
+
+    private int find(int index) {
+        while (labels[index] - 1 != index) {
+            int parent = labels[index] - 1;
+            labels[index] = labels[parent];
+            index = parent;
+        }
+        return index;
+    }
+
+    private void union(int a, int b) {
+        int rootA = find(a);
+        int rootB = find(b);
+        if (rootA < rootB) {
+            labels[rootB] = rootA + 1;
+        } else if (rootB < rootA) {
+            labels[rootA] = rootB + 1;
+        }
+    }
+
+    /*
+     * rebuilds the openings near changed tiles. A bomb change only alters
+     * which tiles are zero within its 3x3 block, so only openings with a
+     * member in the surrounding 5x5 block can gain, lose or merge tiles or
+     * change their border.
+     */
+    private void update() {
+        if (changedTiles.isEmpty()) {
+            return;
+        }
+
+        IntList seeds = new IntList();
+        for (int k = 0; k < changedTiles.size(); k++) {
+            int changed = changedTiles.get(k);
+            int row = changed / cols;
+            int col = changed % cols;
+
+            for (int i = Math.max(0, row - 2); i <= Math.min(rows - 1, row + 2); i++) {
+                for (int j = Math.max(0, col - 2); j <= Math.min(cols - 1, col + 2); j++) {
+                    int label = labels[i * cols + j];
+                    if (label != 0 && openings.get(label - 1) != null) {
+                        for (int member : openings.get(label - 1).members()) {
+                            labels[member] = 0;
+                            seeds.add(member);
+                        }
+                        openings.set(label - 1, null);
+                    }
+                }
+            }
+            for (int i = Math.max(0, row - 1); i <= Math.min(rows - 1, row + 1); i++) {
+                for (int j = Math.max(0, col - 1); j <= Math.min(cols - 1, col + 1); j++) {
+                    seeds.add(i * cols + j);
+                }
+            }
+        }
+        changedTiles.clear();
+
+        for (int k = 0; k < seeds.size(); k++) {
+            int seed = seeds.get(k);
+            if (labels[seed] == 0 && isZero(seed)) {
+                floodOpening(seed);
+            }
+        }
+    }
+
+    /* labels the opening containing a zero tile with a new id and records its members and border */
+    private void floodOpening(int start) {
+        int label = openings.size() + 1;
+        IntList members = new IntList();
+        IntList stack = new IntList();
+
+        labels[start] = label;
+        stack.add(start);
+        while (!stack.isEmpty()) {
+            int index = stack.removeLast();
+            members.add(index);
+
+            int row = index / cols;
+            int col = index % cols;
+            for (int i = Math.max(0, row - 1); i <= Math.min(rows - 1, row + 1); i++) {
+                for (int j = Math.max(0, col - 1); j <= Math.min(cols - 1, col + 1); j++) {
+                    int neighbor = i * cols + j;
+                    if (labels[neighbor] == 0 && isZero(neighbor)) {
+                        labels[neighbor] = label;
+                        stack.add(neighbor);
+                    }
+                }
+            }
+        }
+        int[] memberTiles = members.toArray();
+        openings.add(new Opening(memberTiles, collectBorder(memberTiles, stack)));
+    }
+}
@@ -0,0 +1,205 @@
+package com.somerdin.minesweeper.game;
+
+import java.util.Arrays;
+
+/**
+ * Row-major, one byte per tile storage for a minefield. Each byte packs the
+ * tile's neighbor bomb count, bomb bit, cell status and detonated bit, so a
+ * board of any size is a single primitive array instead of one object per
+ * tile. Tiles can be read by row and column or by flat index
+ * ({@code row * cols + col}), and a raw tile byte can be decoded with the
+ * static helpers without touching the board again.
+ */
+public final class PackedBoard implements Board {
+    // bits 0-3: number of neighbors that contain a bomb (0-8)
+    public static final int COUNT_MASK = 0x0F;
+    // bit 4: tile contains a bomb
+    public static final int BOMB_BIT = 0x10;
+    // bits 5-6: ordinal of CellStatus
+    public static final int STATUS_SHIFT = 5;
+    public static final int STATUS_MASK = 0x03 << STATUS_SHIFT;
+    // bit 7: bomb was detonated
+    public static final int DETONATED_BIT = 0x80;
+
+    private static final CellStatus[] STATUSES = CellStatus.values();
+
+    private final int rows;
+    private final int cols;
+    private final byte[] tiles;
+
+    private int revealedCount;
+    private int flaggedCount;
+
+    /* create a board with every tile hidden and no bombs */
+    public PackedBoard(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.tiles = new byte[rows * cols];
+    }
+
+    public static CellStatus cellStatus(byte tile) {
+        return STATUSES[(tile & STATUS_MASK) >>> STATUS_SHIFT];
+    }
+
+    public static boolean isBomb(byte tile) {
+        return (tile & BOMB_BIT) != 0;
+    }
+
+    public static int neighborCount(byte tile) {
+        return tile & COUNT_MASK;
+    }
+
+    public static BombStatus bombStatus(byte tile) {
+        if ((tile & BOMB_BIT) == 0) {
+            return BombStatus.NONE;
+        }
+        return (tile & DETONATED_BIT) != 0 ? BombStatus.DETONATED : BombStatus.UNDETONATED;
+    }
+
+    @Override
+    public int rows() {
+        return rows;
+    }
+
+    @Override
+    public int cols() {
+        return cols;
+    }
+
+    @Override
+    public int size() {
+        return tiles.length;
+    }
+
+    @Override
+    public int index(int row, int col) {
+        return row * cols + col;
+    }
+
+    @Override
+    public byte get(int index) {
+        return tiles[index];
+    }
+
+    @Override
+    public byte get(int row, int col) {
+        return tiles[row * cols + col];
+    }
+
+    @Override
+    public void getRow(int row, byte[] tiles) {
+        System.arraycopy(this.tiles, row * cols, tiles, 0, cols);
+    }
+
+    @Override
+    public CellStatus getCellStatus(int index) {
+        return cellStatus(tiles[index]);
+    }
+
+    @Override
+    public void setCellStatus(int index, CellStatus status) {
+        CellStatus previous = cellStatus(tiles[index]);
+        if (previous == CellStatus.REVEALED) {
+            revealedCount--;
+        } else if (previous == CellStatus.FLAGGED) {
+            flaggedCount--;
+        }
+        if (status == CellStatus.REVEALED) {
+            revealedCount++;
+        } else if (status == CellStatus.FLAGGED) {
+            flaggedCount++;
+        }
+        tiles[index] = (byte) ((tiles[index] & ~STATUS_MASK) | (status.ordinal() << STATUS_SHIFT));
+    }
+
+    @Override
+    public boolean isBomb(int index) {
+        return (tiles[index] & BOMB_BIT) != 0;
+    }
+
+    @Override
+    public void setBomb(int index, boolean bomb) {
+        if (bomb) {
+            tiles[index] |= BOMB_BIT;
+        } else {
+            tiles[index] &= ~(BOMB_BIT | DETONATED_BIT);
+        }
+    }
+
+    @Override
+    public BombStatus getBombStatus(int index) {
+        return bombStatus(tiles[index]);
+    }
+
+    @Override
+    public void setBombStatus(int index, BombStatus status) {
+        if (status == BombStatus.DETONATED && getCellStatus(index) != CellStatus.REVEALED) {
+            throw new IllegalArgumentException("Bomb status cannot be set to detonated if cell is not revealed.");
+        }
+        switch (status) {
+            case NONE -> setBomb(index, false);
+            case UNDETONATED -> tiles[index] = (byte) ((tiles[index] | BOMB_BIT) & ~DETONATED_BIT);
+            case DETONATED -> tiles[index] |= BOMB_BIT | DETONATED_BIT;
+        }
+    }
+
+    @Override
+    public int getNeighborCount(int index) {
+        return tiles[index] & COUNT_MASK;
+    }
+
+    @Override
+    public void setNeighborCount(int index, int count) {
+        tiles[index] = (byte) ((tiles[index] & ~COUNT_MASK) | count);
+    }
+
+    @Override
+    public void getBombRow(int row, byte[] mask) {
+        int offset = row * cols;
+        for (int j = 0; j < cols; j++) {
+            mask[j] = (byte) ((tiles[offset + j] & BOMB_BIT) >>> 4);
+        }
+    }
+
+    @Override
+    public void setNeighborCountRow(int row, byte[] counts) {
+        int offset = row * cols;
+        for (int j = 0; j < cols; j++) {
+            tiles[offset + j] = (byte) ((tiles[offset + j] & ~COUNT_MASK) | counts[j]);
+        }
+    }
+
+    @Override
+    public void adjustNeighborCounts(int row, int col, int delta) {
+        int rowStart = Math.max(0, row - 1);
+        int rowEnd = Math.min(rows - 1, row + 1);
+        int colStart = Math.max(0, col - 1);
+        int colEnd = Math.min(cols - 1, col + 1);
+
+        for (int i = rowStart; i <= rowEnd; i++) {
+            int offset = i * cols;
+            for (int j = colStart; j <= colEnd; j++) {
+                if (i != row || j != col) {
+                    tiles[offset + j] += delta;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(tiles, (byte) 0);
+        revealedCount = 0;
+        flaggedCount = 0;
+    }
+
+    @Override
+    public int revealedCount() {
+        return revealedCount;
+    }
+
+    @Override
+    public int flaggedCount() {
+        return flaggedCount;
+    }
+}
@@ -0,0 +1,64 @@
+package com.somerdin.minesweeper.game;
+
+/* bounding box of changed tiles, grown as tiles change and cleared once reported */
+final class TileBounds {
+    private int top;
+    private int left;
+    private int bottom;
+    private int right;
+
+    TileBounds() {
+        clear();
+    }
+
+    boolean isEmpty() {
+        return top > bottom;
+    }
+
+    int top() {
+        return top;
+    }
+
+    int left() {
+        return left;
+    }
+
+    int bottom() {
+        return bottom;
+    }
+
+    int right() {
+        return right;
+    }
+
+    void add(int row, int col) {
+        add(row, col, row, col);
+    }
+
+    /* grows the box to cover the rectangle from top left to bottom right, inclusive */
+    void add(int top, int left, int bottom, int right) {
+        this.top = Math.min(this.top, top);
+        this.left = Math.min(this.left, left);
+        this.bottom = Math.max(this.bottom, bottom);
+        this.right = Math.max(this.right, right);
+    }
+
+    /* grows the box to cover the 3x3 block centered on a tile, clipped to the board */
+    void addNeighborhood(Board board, int row, int col) {
+        add(Math.max(0, row - 1),
+                Math.max(0, col - 1),
+                Math.min(board.rows() - 1, row + 1),
+                Math.min(board.cols() - 1, col + 1));
+    }
+
+    void addAll(Board board) {
+        add(0, 0, board.rows() - 1, board.cols() - 1);
+    }
+
+    void clear() {
+        top = Integer.MAX_VALUE;
+        left = Integer.MAX_VALUE;
+        bottom = Integer.MIN_VALUE;
+        right = Integer.MIN_VALUE;
+    }
+}
@@ -0,0 +1,49 @@
+package com.somerdin.minesweeper.game;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API version of {@link BoardGenerator#countRow}. This is the only
+ * class that touches the incubating {@code jdk.incubator.vector} module, so
+ * it is never loaded unless the module was added at launch.
+ */
+final class VectorNeighborCounts {
+    private static final VectorSpecies<Byte> SPECIES = ByteVector.SPECIES_PREFERRED;
+
+    private VectorNeighborCounts() {
+
+    }
+
+    /* same contract as BoardGenerator.countRow, a whole vector of columns at a time */
+    static void countRow(byte[] above, byte[] row, byte[] below, byte[] columnSums, byte[] counts, int cols) {
+        int bound = SPECIES.loopBound(cols);
+
+        // bombs in each column of the three rows, shifted one entry right so
+        // the columns either side of the board read as zero
+        int j = 0;
+        for (; j < bound; j += SPECIES.length()) {
+            ByteVector.fromArray(SPECIES, above, j)
+                    .add(ByteVector.fromArray(SPECIES, row, j))
+                    .add(ByteVector.fromArray(SPECIES, below, j))
+                    .intoArray(columnSums, j + 1);
+        }
+        for (; j < cols; j++) {
+            columnSums[j + 1] = (byte) (above[j] + row[j] + below[j]);
+        }
+        columnSums[0] = 0;
+        columnSums[cols + 1] = 0;
+
+        j = 0;
+        for (; j < bound; j += SPECIES.length()) {
+            ByteVector.fromArray(SPECIES, columnSums, j)
+                    .add(ByteVector.fromArray(SPECIES, columnSums, j + 1))
+                    .add(ByteVector.fromArray(SPECIES, columnSums, j + 2))
+                    .sub(ByteVector.fromArray(SPECIES, row, j))
+                    .intoArray(counts, j);
+        }
+        for (; j < cols; j++) {
+            counts[j] = (byte) (columnSums[j] + columnSums[j + 1] + columnSums[j + 2] - row[j]);
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.somerdin.minesweeper.sim;
+
+import com.somerdin.minesweeper.game.Minefield;
+
+/**
+ * A strategy that plays games of minesweeper. A simulation gives each of
+ * its threads its own bot, which then plays one game after another on the
+ * same {@link Minefield}, so a bot need not be thread-safe and can reuse
+ * its state between games.
+ */
+public interface Bot {
+    /* called when a game has started, before its first move; seed can drive the bot's own random choices */
+    void startGame(Minefield minefield, long seed);
+
+    /* the next move in the game in progress, or null to give up the game */
+    Move nextMove();
+
+    /* called after each move has been played */
+    default void afterMove(Move move) {
+
+    }
+}
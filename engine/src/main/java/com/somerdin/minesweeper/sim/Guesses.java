@@ -0,0 +1,63 @@
+package com.somerdin.minesweeper.sim;
+
+import com.somerdin.minesweeper.game.CellStatus;
+import com.somerdin.minesweeper.game.Minefield;
+import com.somerdin.minesweeper.solver.Probabilities;
+
+import java.util.SplittableRandom;
+
+/* guesses shared by the bots, for when nothing is known for certain */
+final class Guesses {
+    private Guesses() {
+
+    }
+
+    /* reveals a hidden tile chosen uniformly at random, or returns null if there is none */
+    static Move randomHidden(Minefield minefield, SplittableRandom random) {
+        int rows = minefield.rowCount();
+        int cols = minefield.colCount();
+        // a few blind tries are enough while much of the board is hidden
+        for (int i = 0; i < 8; i++) {
+            int row = random.nextInt(rows);
+            int col = random.nextInt(cols);
+            if (minefield.getCellStatus(row, col) == CellStatus.HIDDEN) {
+                return Move.reveal(row, col);
+            }
+        }
+        int hidden = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (minefield.getCellStatus(i, j) == CellStatus.HIDDEN) {
+                    hidden++;
+                }
+            }
+        }
+        if (hidden == 0) {
+            return null;
+        }
+        int chosen = random.nextInt(hidden);
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (minefield.getCellStatus(i, j) == CellStatus.HIDDEN && chosen-- == 0) {
+                    return Move.reveal(i, j);
+                }
+            }
+        }
+        return null;
+    }
+
+    /* reveals the hidden tile least likely to be a bomb, or returns null if there is none */
+    static Move safest(Minefield minefield, Probabilities probabilities) {
+        Move best = null;
+        double lowest = Double.POSITIVE_INFINITY;
+        for (int i = 0; i < minefield.rowCount(); i++) {
+            for (int j = 0; j < minefield.colCount(); j++) {
+                if (minefield.getCellStatus(i, j) == CellStatus.HIDDEN && probabilities.probability(i, j) < lowest) {
+                    lowest = probabilities.probability(i, j);
+                    best = Move.reveal(i, j);
+                }
+            }
+        }
+        return best;
+    }
+}
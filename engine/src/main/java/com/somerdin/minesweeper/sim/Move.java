@@ -0,0 +1,33 @@
+package com.somerdin.minesweeper.sim;
+
+import com.somerdin.minesweeper.game.Minefield;
+
+/* a move a bot makes on a tile */
+public record Move(Action action, int row, int col) {
+    public enum Action {
+        REVEAL,
+        FLAG,
+        CHORD
+    }
+
+    public static Move reveal(int row, int col) {
+        return new Move(Action.REVEAL, row, col);
+    }
+
+    public static Move flag(int row, int col) {
+        return new Move(Action.FLAG, row, col);
+    }
+
+    public static Move chord(int row, int col) {
+        return new Move(Action.CHORD, row, col);
+    }
+
+    /* plays the move on a minefield */
+    void playOn(Minefield minefield) {
+        switch (action) {
+            case REVEAL -> minefield.chooseCell(row, col);
+            case FLAG -> minefield.toggleFlag(row, col);
+            case CHORD -> minefield.chord(row, col);
+        }
+    }
+}
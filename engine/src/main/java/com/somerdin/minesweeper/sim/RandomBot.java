@@ -0,0 +1,22 @@
+package com.somerdin.minesweeper.sim;
+
+import com.somerdin.minesweeper.game.Minefield;
+
+import java.util.SplittableRandom;
+
+/* reveals hidden tiles at random; a baseline that measures the engine more than the bot */
+public final class RandomBot implements Bot {
+    private Minefield minefield;
+    private SplittableRandom random;
+
+    @Override
+    public void startGame(Minefield minefield, long seed) {
+        this.minefield = minefield;
+        this.random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public Move nextMove() {
+        return Guesses.randomHidden(minefield, random);
+    }
+}
@@ -0,0 +1,136 @@
+package com.somerdin.minesweeper.sim;
+
+import com.somerdin.minesweeper.game.Difficulty;
+import com.somerdin.minesweeper.game.GameResult;
+import com.somerdin.minesweeper.game.Minefield;
+import com.somerdin.minesweeper.solver.LatencyHistogram;
+import com.somerdin.minesweeper.solver.NoGuessGenerator;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Plays many games of one difficulty with bots on several threads, without
+ * a GUI. Game i is always the board of the same seed, derived from the base
+ * seed and i alone, so a run is reproducible on any number of threads as
+ * long as the bot's choices depend only on the board and seed. Each thread
+ * has its own bot and {@link Minefield}, and claims games one at a time, so
+ * the threads finish together whatever the games cost. Counts and latency
+ * histograms are kept per thread and merged at the end.
+ */
+public final class Simulation {
+    // moves per tile after which a game counts as abandoned, in case a bot loops
+    private static final int MAX_MOVES_PER_TILE = 4;
+
+    private final Difficulty difficulty;
+    private final Supplier<Bot> bots;
+    private final String botName;
+    private final long games;
+    private final int threads;
+    private final long baseSeed;
+
+    public Simulation(Difficulty difficulty, Supplier<Bot> bots, String botName, long games, int threads, long baseSeed) {
+        if (games <= 0) {
+            throw new IllegalArgumentException("Game count must be positive.");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Thread count must be positive.");
+        }
+        this.difficulty = difficulty;
+        this.bots = bots;
+        this.botName = botName;
+        this.games = games;
+        this.threads = threads;
+        this.baseSeed = baseSeed;
+    }
+
+    /* seed of game index of a run */
+    public static long gameSeed(long baseSeed, long index) {
+        return NoGuessGenerator.candidateSeed(baseSeed, index);
+    }
+
+    /* plays every game and waits for them to finish */
+    public SimulationReport run() throws InterruptedException {
+        AtomicLong next = new AtomicLong();
+        Worker[] workers = new Worker[threads];
+        Thread[] running = new Thread[threads];
+        long start = System.nanoTime();
+        for (int i = 0; i < threads; i++) {
+            workers[i] = new Worker(next);
+            running[i] = new Thread(workers[i], "simulation-" + i);
+            running[i].start();
+        }
+        for (Thread thread : running) {
+            thread.join();
+        }
+        long elapsed = System.nanoTime() - start;
+
+        SimulationReport.Builder report = new SimulationReport.Builder(botName, difficulty, threads, baseSeed, elapsed);
+        for (Worker worker : workers) {
+            if (worker.failure != null) {
+                throw new IllegalStateException("Simulation thread failed.", worker.failure);
+            }
+            report.add(worker.wins, worker.losses, worker.abandoned, worker.moves,
+                    worker.moveLatencies, worker.botLatencies, worker.gameLatencies);
+        }
+        return report.build();
+    }
+
+    /* one thread's games, counts and histograms */
+    private final class Worker implements Runnable {
+        private final AtomicLong next;
+        private final LatencyHistogram moveLatencies = new LatencyHistogram();
+        private final LatencyHistogram botLatencies = new LatencyHistogram();
+        private final LatencyHistogram gameLatencies = new LatencyHistogram();
+        private long wins;
+        private long losses;
+        private long abandoned;
+        private long moves;
+        // any failure, errors included, so a dead thread is never mistaken for a finished one
+        private Throwable failure;
+
+        Worker(AtomicLong next) {
+            this.next = next;
+        }
+
+        @Override
+        public void run() {
+            try {
+                Minefield minefield = new Minefield(difficulty);
+                Bot bot = bots.get();
+                long maxMoves = (long) MAX_MOVES_PER_TILE * difficulty.rows() * difficulty.cols();
+                for (long i = next.getAndIncrement(); i < games; i = next.getAndIncrement()) {
+                    long gameStart = System.nanoTime();
+                    play(minefield, bot, gameSeed(baseSeed, i), maxMoves);
+                    gameLatencies.record(System.nanoTime() - gameStart);
+                }
+            } catch (Throwable e) {
+                failure = e;
+            }
+        }
+
+        private void play(Minefield minefield, Bot bot, long seed, long maxMoves) {
+            minefield.startNewGame(difficulty, seed);
+            bot.startGame(minefield, seed);
+            for (long played = 0; minefield.getGameResult() == GameResult.IN_PROGRESS; played++) {
+                long t0 = System.nanoTime();
+                Move move = played < maxMoves ? bot.nextMove() : null;
+                long t1 = System.nanoTime();
+                botLatencies.record(t1 - t0);
+                if (move == null) {
+                    abandoned++;
+                    return;
+                }
+                move.playOn(minefield);
+                moveLatencies.record(System.nanoTime() - t1);
+                moves++;
+                bot.afterMove(move);
+            }
+            if (minefield.getGameResult() == GameResult.GAME_WON) {
+                wins++;
+            } else {
+                losses++;
+            }
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.somerdin.minesweeper.sim;
+
+import com.somerdin.minesweeper.game.Difficulty;
+import com.somerdin.minesweeper.solver.LatencyHistogram;
+
+import java.util.concurrent.TimeUnit;
+
+/*
+ * results of a simulation: game outcomes, throughput, and latency of the
+ * engine playing each move, of the bot choosing each move, and of whole games
+ */
+public record SimulationReport(String bot,
+                               Difficulty difficulty,
+                               int threads,
+                               long baseSeed,
+                               long elapsedNanos,
+                               long wins,
+                               long losses,
+                               long abandoned,
+                               long moves,
+                               LatencyHistogram moveLatencies,
+                               LatencyHistogram botLatencies,
+                               LatencyHistogram gameLatencies) {
+
+    public long games() {
+        return wins + losses + abandoned;
+    }
+
+    public double winRate() {
+        return games() == 0 ? 0 : (double) wins / games();
+    }
+
+    public double gamesPerSecond() {
+        return games() / seconds();
+    }
+
+    public double movesPerSecond() {
+        return moves / seconds();
+    }
+
+    private double seconds() {
+        return Math.max(1, elapsedNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+    }
+
+    /* plain text report, one value per line */
+    @Override
+    public String toString() {
+        return String.join(System.lineSeparator(),
+                "bot: " + bot,
+                "difficulty: " + difficulty.rows() + "x" + difficulty.cols() + ", " + difficulty.bombPercent() + "% bombs",
+                "threads: " + threads,
+                "base seed: " + baseSeed,
+                "games: " + games(),
+                String.format("wins: %d (%.2f%%)", wins, 100 * winRate()),
+                "losses: " + losses,
+                "abandoned: " + abandoned,
+                String.format("elapsed: %.2fs", seconds()),
+                String.format("throughput: %.1f games/s, %.1f moves/s", gamesPerSecond(), movesPerSecond()),
+                "move latency: " + moveLatencies,
+                "bot latency: " + botLatencies,
+                "game latency: " + gameLatencies,
+                "");
+    }
+
+    /* sums the counts and histograms of a simulation's threads */
+    static final class Builder {
+        private final String bot;
+        private final Difficulty difficulty;
+        private final int threads;
+        private final long baseSeed;
+        private final long elapsedNanos;
+        private final LatencyHistogram moveLatencies = new LatencyHistogram();
+        private final LatencyHistogram botLatencies = new LatencyHistogram();
+        private final LatencyHistogram gameLatencies = new LatencyHistogram();
+        private long wins;
+        private long losses;
+        private long abandoned;
+        private long moves;
+
+        Builder(String bot, Difficulty difficulty, int threads, long baseSeed, long elapsedNanos) {
+            this.bot = bot;
+            this.difficulty = difficulty;
+            this.threads = threads;
+            this.baseSeed = baseSeed;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        void add(long wins,
+                 long losses,
+                 long abandoned,
+                 long moves,
+                 LatencyHistogram moveLatencies,
+                 LatencyHistogram botLatencies,
+                 LatencyHistogram gameLatencies) {
+            this.wins += wins;
+            this.losses += losses;
+            this.abandoned += abandoned;
+            this.moves += moves;
+            this.moveLatencies.addAll(moveLatencies);
+            this.botLatencies.addAll(botLatencies);
+            this.gameLatencies.addAll(gameLatencies);
+        }
+
+        SimulationReport build() {
+            return new SimulationReport(bot, difficulty, threads, baseSeed, elapsedNanos,
+                    wins, losses, abandoned, moves, moveLatencies, botLatencies, gameLatencies);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.somerdin.minesweeper.sim;
+
+import com.somerdin.minesweeper.game.BoardCode;
+import com.somerdin.minesweeper.game.Difficulty;
+import com.somerdin.minesweeper.solver.ProbabilityCalculator;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Command line entry point for simulations. The engine module does not
+ * depend on JavaFX, so it runs on machines without a display. For example:
+ * <pre>
+ * java -p &lt;module path&gt; -m com.somerdin.minesweeper.engine/com.somerdin.minesweeper.sim.Simulator \
+ *     --bot solver --difficulty hard --games 1000000 --report hard.txt
+ * </pre>
+ * The report is printed, and also written to the report file if one is given.
+ */
+public final class Simulator {
+    private static final String USAGE = """
+            usage: Simulator [options]
+              --bot random|solver|probability   strategy to play with (default solver)
+              --difficulty easy|medium|hard|<rows>x<cols>[L]-<percent>
+                                                boards to play (default hard)
+              --games <n>                       games to play (default 100000)
+              --threads <n>                     threads to play on (default all cores)
+              --seed <n>                        base seed of the boards (default 0)
+              --report <file>                   also write the report to a file
+            """;
+
+    // enumeration steps per frontier component before the probability bot estimates it
+    private static final long PROBABILITY_STEP_LIMIT = 1L << 22;
+
+    // bots by name; the probability bot is far slower, as it calculates probabilities before every guess.
+    // Its calculator runs on the simulation thread and stops at a step limit rather than a deadline, so
+    // guesses do not change with machine load and a seeded run is reproducible
+    private static final Map<String, Supplier<Bot>> BOTS = Map.of(
+            "random", RandomBot::new,
+            "solver", SolverBot::new,
+            "probability", () -> new SolverBot(new ProbabilityCalculator(Runnable::run, PROBABILITY_STEP_LIMIT)));
+
+    private Simulator() {
+
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Simulation simulation;
+        Path reportPath;
+        try {
+            String botName = "solver";
+            Difficulty difficulty = Difficulty.HARD;
+            long games = 100_000;
+            int threads = Runtime.getRuntime().availableProcessors();
+            long seed = 0;
+            reportPath = null;
+            for (int i = 0; i < args.length; i += 2) {
+                if (i + 1 == args.length) {
+                    throw new IllegalArgumentException("Missing value for " + args[i] + ".");
+                }
+                String value = args[i + 1];
+                switch (args[i]) {
+                    case "--bot" -> botName = value.toLowerCase(Locale.ROOT);
+                    case "--difficulty" -> difficulty = parseDifficulty(value);
+                    case "--games" -> games = Long.parseLong(value);
+                    case "--threads" -> threads = Integer.parseInt(value);
+                    case "--seed" -> seed = Long.parseLong(value);
+                    case "--report" -> reportPath = Path.of(value);
+                    default -> throw new IllegalArgumentException("Unknown option " + args[i] + ".");
+                }
+            }
+            Supplier<Bot> bots = BOTS.get(botName);
+            if (bots == null) {
+                throw new IllegalArgumentException("Unknown bot " + botName + ".");
+            }
+            simulation = new Simulation(difficulty, bots, botName, games, threads, seed);
+        } catch (IllegalArgumentException e) {
+            // NumberFormatException included
+            System.err.println(e.getMessage());
+            System.err.print(USAGE);
+            System.exit(2);
+            return;
+        }
+
+        SimulationReport report = simulation.run();
+        System.out.print(report);
+        if (reportPath != null) {
+            Files.writeString(reportPath, report.toString());
+        }
+    }
+
+    /* a preset name, or the difficulty part of a board code such as 16x30-21 */
+    static Difficulty parseDifficulty(String value) {
+        return switch (value.toLowerCase(Locale.ROOT)) {
+            case "easy" -> Difficulty.EASY;
+            case "medium" -> Difficulty.MEDIUM;
+            case "hard" -> Difficulty.HARD;
+            default -> BoardCode.parse(value + "-0").difficulty();
+        };
+    }
+}
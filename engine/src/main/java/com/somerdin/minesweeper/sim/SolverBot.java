@@ -0,0 +1,70 @@
+package com.somerdin.minesweeper.sim;
+
+import com.somerdin.minesweeper.game.Minefield;
+import com.somerdin.minesweeper.solver.Hint;
+import com.somerdin.minesweeper.solver.Probabilities;
+import com.somerdin.minesweeper.solver.ProbabilityCalculator;
+import com.somerdin.minesweeper.solver.Solver;
+
+import java.util.SplittableRandom;
+
+/*
+ * opens in the center, then plays every tile the solver is certain about,
+ * flagging bombs; when it is stuck it guesses either at random or, given a
+ * probability calculator, the tile least likely to be a bomb
+ */
+public final class SolverBot implements Bot {
+    private final ProbabilityCalculator probabilityCalculator;
+
+    private Minefield minefield;
+    private Solver solver;
+    private SplittableRandom random;
+
+    /* a bot that guesses at random */
+    public SolverBot() {
+        this(null);
+    }
+
+    /*
+     * a bot that guesses the safest tile by the calculator's probabilities,
+     * or at random if it is null. The calculator is run without a time
+     * limit, so guesses depend only on the board; it should have a step
+     * limit to bound each guess.
+     */
+    public SolverBot(ProbabilityCalculator probabilityCalculator) {
+        this.probabilityCalculator = probabilityCalculator;
+    }
+
+    @Override
+    public void startGame(Minefield minefield, long seed) {
+        if (this.minefield != minefield) {
+            this.minefield = minefield;
+            solver = new Solver(minefield);
+        }
+        solver.reset();
+        random = new SplittableRandom(seed);
+    }
+
+    @Override
+    public Move nextMove() {
+        if (minefield.getFirstMove()) {
+            return Move.reveal(minefield.rowCount() / 2, minefield.colCount() / 2);
+        }
+        Hint hint = solver.hint();
+        if (hint != null) {
+            return hint.mine() ? Move.flag(hint.row(), hint.col()) : Move.reveal(hint.row(), hint.col());
+        }
+        if (probabilityCalculator == null) {
+            return Guesses.randomHidden(minefield, random);
+        }
+        Probabilities probabilities = probabilityCalculator.calculate(minefield, ProbabilityCalculator.NO_TIME_LIMIT);
+        return Guesses.safest(minefield, probabilities);
+    }
+
+    @Override
+    public void afterMove(Move move) {
+        if (move.action() != Move.Action.FLAG) {
+            solver.update(move.row(), move.col());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.somerdin.minesweeper.solver;
+
+import com.somerdin.minesweeper.game.Minefield;
+
+/*
+ * a copy of a minefield's packed tiles and bomb count, taken on the thread
+ * that plays moves so probabilities can be worked out on another thread
+ * while the game goes on
+ */
+public record BoardSnapshot(int rows, int cols, int bombs, byte[] tiles) {
+
+    public static BoardSnapshot of(Minefield minefield) {
+        int rows = minefield.rowCount();
+        int cols = minefield.colCount();
+        byte[] tiles = new byte[rows * cols];
+        byte[] row = new byte[cols];
+        for (int i = 0; i < rows; i++) {
+            minefield.getTileRow(i, row);
+            System.arraycopy(row, 0, tiles, i * cols, cols);
+        }
+        return new BoardSnapshot(rows, cols, minefield.getBombCount(), tiles);
+    }
+}
@@ -0,0 +1,147 @@
+package com.somerdin.minesweeper.solver;
+
+import com.somerdin.minesweeper.game.CellStatus;
+import com.somerdin.minesweeper.game.IntList;
+import com.somerdin.minesweeper.game.Minefield;
+import com.somerdin.minesweeper.game.PackedBoard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Snapshot of the hidden tiles next to revealed numbers (the variables) and
+ * the numbers constraining them. Variables are numbered in ascending tile
+ * order, and each number lists its variables and its bomb count.
+ */
+record Frontier(int cols, int hiddenCount, int[] tiles, int[][] constraintVariables, int[] targets) {
+
+    static Frontier of(Minefield minefield) {
+        return of(BoardSnapshot.of(minefield));
+    }
+
+    static Frontier of(BoardSnapshot snapshot) {
+        int rows = snapshot.rows();
+        int cols = snapshot.cols();
+        byte[] board = snapshot.tiles();
+
+        // numbers list their hidden neighbors by tile index until variables are numbered
+        IntList found = new IntList();
+        List<int[]> constraints = new ArrayList<>();
+        IntList targets = new IntList();
+        int hidden = 0;
+        int[] neighbors = new int[8];
+
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                byte tile = board[i * cols + j];
+                if (PackedBoard.cellStatus(tile) != CellStatus.REVEALED) {
+                    hidden++;
+                    continue;
+                }
+                if (PackedBoard.isBomb(tile) || PackedBoard.neighborCount(tile) == 0) {
+                    continue;
+                }
+
+                // visited in ascending tile order, so each number's neighbors come out sorted
+                int n = 0;
+                for (int r = Math.max(0, i - 1); r <= Math.min(rows - 1, i + 1); r++) {
+                    for (int c = Math.max(0, j - 1); c <= Math.min(cols - 1, j + 1); c++) {
+                        int index = r * cols + c;
+                        if (PackedBoard.cellStatus(board[index]) != CellStatus.REVEALED) {
+                            neighbors[n++] = index;
+                            found.add(index);
+                        }
+                    }
+                }
+                if (n > 0) {
+                    constraints.add(Arrays.copyOf(neighbors, n));
+                    targets.add(PackedBoard.neighborCount(tile));
+                }
+            }
+        }
+
+        // variables are the distinct tiles found, numbered in tile order
+        int[] tiles = found.toArray();
+        Arrays.sort(tiles);
+        int distinct = 0;
+        for (int k = 0; k < tiles.length; k++) {
+            if (distinct == 0 || tiles[k] != tiles[distinct - 1]) {
+                tiles[distinct++] = tiles[k];
+            }
+        }
+        tiles = Arrays.copyOf(tiles, distinct);
+
+        int[][] constraintVariables = constraints.toArray(new int[0][]);
+        for (int[] variables : constraintVariables) {
+            for (int k = 0; k < variables.length; k++) {
+                variables[k] = Arrays.binarySearch(tiles, variables[k]);
+            }
+        }
+        return new Frontier(cols, hidden, tiles, constraintVariables, targets.toArray());
+    }
+
+    int variableCount() {
+        return tiles.length;
+    }
+
+    /* hidden tiles that are not variables */
+    int otherCount() {
+        return hiddenCount - tiles.length;
+    }
+
+    /* log of the odds that a hidden tile is a bomb, or 0 if every or no hidden tile is */
+    double logOdds(int bombs) {
+        return bombs > 0 && bombs < hiddenCount ? Math.log((double) bombs / (hiddenCount - bombs)) : 0;
+    }
+
+    /*
+     * log C(otherCount, bombs - k), the ways to place the bombs the frontier
+     * does not hold, for k = 0 .. variableCount() frontier bombs; relative to
+     * an arbitrary constant, and negative infinity where they do not fit
+     */
+    double[] offFrontierLogWeights(int bombs) {
+        int others = otherCount();
+        double[] logs = new double[tiles.length + 1];
+        Arrays.fill(logs, Double.NEGATIVE_INFINITY);
+
+        // built up with C(n, m) = C(n, m - 1) * (n - m + 1) / m
+        int low = Math.max(0, bombs - tiles.length);
+        int high = Math.min(others, bombs);
+        double log = 0;
+        for (int m = low; m <= high; m++) {
+            if (m > low) {
+                log += Math.log(others - m + 1) - Math.log(m);
+            }
+            logs[bombs - m] = log;
+        }
+        return logs;
+    }
+
+    /* a label per variable, shared by variables linked through numbers and by no others */
+    int[] componentLabels() {
+        int[] parent = new int[tiles.length];
+        for (int v = 0; v < parent.length; v++) {
+            parent[v] = v;
+        }
+        for (int[] variables : constraintVariables) {
+            for (int k = 1; k < variables.length; k++) {
+                int a = find(parent, variables[0]);
+                int b = find(parent, variables[k]);
+                parent[Math.max(a, b)] = Math.min(a, b);
+            }
+        }
+        for (int v = 0; v < parent.length; v++) {
+            parent[v] = find(parent, v);
+        }
+        return parent;
+    }
+
+    private static int find(int[] parent, int v) {
+        while (parent[v] != v) {
+            parent[v] = parent[parent[v]];
+            v = parent[v];
+        }
+        return v;
+    }
+}
@@ -0,0 +1,6 @@
+package com.somerdin.minesweeper.solver;
+
+/* a tile the solver is certain about; mine is true if it is certainly a bomb, otherwise it is certainly safe */
+public record Hint(int row, int col, boolean mine) {
+
+}
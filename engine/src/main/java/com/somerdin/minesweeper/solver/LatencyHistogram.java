@@ -0,0 +1,136 @@
+package com.somerdin.minesweeper.solver;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histogram of durations in nanoseconds with a fixed number of buckets, so
+ * recording costs the same however many durations have been recorded. Each
+ * power of two is split into eight equal buckets, so a percentile is off by
+ * at most an eighth of its true value. Safe to record into from many threads.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // durations below this land in buckets of width one
+    private static final int LINEAR_LIMIT = 2 * SUB_BUCKETS;
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+    private long total;
+    private long max;
+
+    /* records one duration; negative durations count as zero */
+    public synchronized void record(long nanos) {
+        nanos = Math.max(0, nanos);
+        counts[bucket(nanos)]++;
+        count++;
+        total += nanos;
+        max = Math.max(max, nanos);
+    }
+
+    /* adds every duration recorded by another histogram */
+    public void addAll(LatencyHistogram other) {
+        long[] otherCounts;
+        long otherCount;
+        long otherTotal;
+        long otherMax;
+        synchronized (other) {
+            otherCounts = other.counts.clone();
+            otherCount = other.count;
+            otherTotal = other.total;
+            otherMax = other.max;
+        }
+        synchronized (this) {
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] += otherCounts[i];
+            }
+            count += otherCount;
+            total += otherTotal;
+            max = Math.max(max, otherMax);
+        }
+    }
+
+    public synchronized void clear() {
+        Arrays.fill(counts, 0);
+        count = 0;
+        total = 0;
+        max = 0;
+    }
+
+    public synchronized long count() {
+        return count;
+    }
+
+    public synchronized long max() {
+        return max;
+    }
+
+    public synchronized double mean() {
+        return count == 0 ? 0 : (double) total / count;
+    }
+
+    /*
+     * smallest recorded duration, rounded up to the top of its bucket, that
+     * at least the given fraction of durations do not exceed; 0 if empty
+     */
+    public synchronized long percentile(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 1.");
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(fraction * count));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(max, upperBound(i));
+            }
+        }
+        return max;
+    }
+
+    /* count, mean and the usual percentiles, each in whichever unit reads best */
+    @Override
+    public synchronized String toString() {
+        return "n=" + count
+                + " mean=" + format(Math.round(mean()))
+                + " p50=" + format(percentile(0.5))
+                + " p90=" + format(percentile(0.9))
+                + " p99=" + format(percentile(0.99))
+                + " max=" + format(max);
+    }
+
+    private static String format(long nanos) {
+        if (nanos < TimeUnit.MICROSECONDS.toNanos(1)) {
+            return nanos + "ns";
+        } else if (nanos < TimeUnit.MILLISECONDS.toNanos(1)) {
+            return String.format("%.1fus", nanos / (double) TimeUnit.MICROSECONDS.toNanos(1));
+        } else if (nanos < TimeUnit.SECONDS.toNanos(1)) {
+            return String.format("%.2fms", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        return String.format("%.2fs", nanos / (double) TimeUnit.SECONDS.toNanos(1));
+    }
+
+    private static int bucket(long nanos) {
+        if (nanos < LINEAR_LIMIT) {
+            return (int) nanos;
+        }
+        // the top SUB_BUCKET_BITS + 1 bits pick the bucket; the highest one is always set
+        int shift = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos) - SUB_BUCKET_BITS;
+        return (shift + 1) * SUB_BUCKETS + (int) (nanos >>> shift) - SUB_BUCKETS;
+    }
+
+    /* largest duration that lands in a bucket */
+    private static long upperBound(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long top = (long) (bucket % SUB_BUCKETS + SUB_BUCKETS + 1) << shift;
+        return top - 1;
+    }
+}
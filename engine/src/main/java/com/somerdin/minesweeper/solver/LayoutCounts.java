@@ -0,0 +1,325 @@
+package com.somerdin.minesweeper.solver;
+
+import com.somerdin.minesweeper.solver.ProbabilityCalculator.Component;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Counts of a component's layouts, each weighted by odds^bombs, gathered in
+ * one sweep through its variables in search order, from which layouts can be
+ * drawn in proportion to their weight.
+ * <p>
+ * After each step of the sweep, layouts are grouped by a state: the bombs
+ * assigned so far to every number with some but not all of its variables
+ * assigned, packed four bits per number. Two layouts in the same state extend
+ * the same ways, so each step only keeps a total weight per state. Along the
+ * thin bands of numbers at the edge of revealed areas only a few numbers are
+ * open at once, so there are few states even when there are thousands of
+ * variables. A layout is drawn backwards, choosing each variable's value by
+ * the weight of the state before it.
+ */
+final class LayoutCounts {
+    // numbers open at once, at four bits each in a 64-bit state
+    private static final int MAX_OPEN = 16;
+    private static final int MAX_STATES_PER_STEP = 1 << 16;
+    private static final int MAX_STATES = 1 << 21;
+
+    private final Component component;
+    private final double logOdds;
+    private final double odds;
+
+    // each number's state slot, and the steps assigning its first and last variable
+    private final int[] slot;
+    private final int[] first;
+    private final int[] last;
+    // for each variable's numbers, how many of their variables come after it
+    private final int[][] remainingAfter;
+
+    // states after each step in ascending order, their weights relative to
+    // the largest, and the log of that largest weight
+    private final long[][] states;
+    private final double[][] weights;
+    private final double[] logScales;
+
+    private LayoutCounts(Component component, double logOdds) {
+        this.component = component;
+        this.logOdds = logOdds;
+        this.odds = Math.exp(logOdds);
+
+        int n = component.variables().length;
+        int[] order = component.searchOrder();
+        int[] position = new int[n];
+        for (int i = 0; i < n; i++) {
+            position[order[i]] = i;
+        }
+
+        int[][] constraints = component.constraints();
+        first = new int[constraints.length];
+        last = new int[constraints.length];
+        for (int k = 0; k < constraints.length; k++) {
+            first[k] = Integer.MAX_VALUE;
+            for (int v : constraints[k]) {
+                first[k] = Math.min(first[k], position[v]);
+                last[k] = Math.max(last[k], position[v]);
+            }
+        }
+
+        remainingAfter = new int[n][];
+        for (int v = 0; v < n; v++) {
+            int[] around = component.constraintsOf()[v];
+            remainingAfter[v] = new int[around.length];
+            for (int j = 0; j < around.length; j++) {
+                for (int w : constraints[around[j]]) {
+                    if (position[w] > position[v]) {
+                        remainingAfter[v][j]++;
+                    }
+                }
+            }
+        }
+
+        slot = new int[constraints.length];
+        states = new long[n][];
+        weights = new double[n][];
+        logScales = new double[n];
+    }
+
+    /*
+     * sweeps a component, or returns null if it has too many open numbers or
+     * states, has no layouts, or cancelled returns true before the sweep is done
+     */
+    static LayoutCounts of(Component component, double logOdds, BooleanSupplier cancelled) {
+        LayoutCounts counts = new LayoutCounts(component, logOdds);
+        return counts.assignSlots() && counts.sweep(cancelled) ? counts : null;
+    }
+
+    /* log of the inverse of the chance that draw picks a given layout with this many bombs */
+    double logInverseChance(int bombs) {
+        // all layouts end in the empty state, whose weight is the total
+        int n = states.length;
+        return logScales[n - 1] + Math.log(weights[n - 1][0]) - bombs * logOdds;
+    }
+
+    /* draws a layout with probability proportional to its weight and returns its bomb count */
+    int draw(SplittableRandom random, boolean[] mine) {
+        int[] order = component.searchOrder();
+        long state = 0;
+        int bombs = 0;
+        for (int i = order.length - 1; i >= 0; i--) {
+            int v = order[i];
+            long safePrevious = previous(i, v, state, 0);
+            long bombPrevious = previous(i, v, state, 1);
+            double safeWeight = safePrevious == -1 ? 0 : weightBefore(i, safePrevious);
+            double bombWeight = bombPrevious == -1 ? 0 : weightBefore(i, bombPrevious) * odds;
+
+            mine[v] = random.nextDouble() * (safeWeight + bombWeight) < bombWeight;
+            if (mine[v]) {
+                bombs++;
+                state = bombPrevious;
+            } else {
+                state = safePrevious;
+            }
+        }
+        return bombs;
+    }
+
+    /* gives each open number a slot no other number holds while it is open */
+    private boolean assignSlots() {
+        int[] order = component.searchOrder();
+        int free = (1 << MAX_OPEN) - 1;
+        for (int i = 0; i < order.length; i++) {
+            int[] around = component.constraintsOf()[order[i]];
+            int released = 0;
+            for (int k : around) {
+                if (first[k] == i && last[k] > i) {
+                    if (free == 0) {
+                        return false;
+                    }
+                    slot[k] = Integer.numberOfTrailingZeros(free);
+                    free &= free - 1;
+                } else if (last[k] == i && first[k] < i) {
+                    // freed only after this step, so the state before it can still be recovered
+                    released |= 1 << slot[k];
+                }
+            }
+            free |= released;
+        }
+        return true;
+    }
+
+    private boolean sweep(BooleanSupplier cancelled) {
+        int[] order = component.searchOrder();
+        StateMap next = new StateMap();
+        long[] previousStates = {0};
+        double[] previousWeights = {1};
+        long total = 0;
+
+        for (int i = 0; i < order.length; i++) {
+            if (cancelled.getAsBoolean()) {
+                return false;
+            }
+            int v = order[i];
+            next.clear();
+            for (int s = 0; s < previousStates.length; s++) {
+                long safe = advance(i, v, previousStates[s], 0);
+                if (safe != -1) {
+                    next.add(safe, previousWeights[s]);
+                }
+                long bomb = advance(i, v, previousStates[s], 1);
+                if (bomb != -1) {
+                    next.add(bomb, previousWeights[s] * odds);
+                }
+            }
+            total += next.size();
+            if (next.size() == 0 || next.size() > MAX_STATES_PER_STEP || total > MAX_STATES) {
+                return false;
+            }
+
+            states[i] = next.sortedKeys();
+            weights[i] = new double[states[i].length];
+            double max = 0;
+            for (int s = 0; s < states[i].length; s++) {
+                weights[i][s] = next.get(states[i][s]);
+                max = Math.max(max, weights[i][s]);
+            }
+            for (int s = 0; s < weights[i].length; s++) {
+                weights[i][s] /= max;
+            }
+            logScales[i] = (i > 0 ? logScales[i - 1] : 0) + Math.log(max);
+
+            previousStates = states[i];
+            previousWeights = weights[i];
+        }
+        return true;
+    }
+
+    /* the state after assigning v at step i, or -1 if some number can no longer be satisfied */
+    private long advance(int i, int v, long state, int value) {
+        int[] around = component.constraintsOf()[v];
+        for (int j = 0; j < around.length; j++) {
+            int k = around[j];
+            int bombs = (first[k] == i ? 0 : field(state, slot[k])) + value;
+            int target = component.targets()[k];
+            if (bombs > target || bombs + remainingAfter[v][j] < target) {
+                return -1;
+            }
+            if (last[k] == i) {
+                if (first[k] < i) {
+                    state = withField(state, slot[k], 0);
+                }
+            } else {
+                state = withField(state, slot[k], bombs);
+            }
+        }
+        return state;
+    }
+
+    /* the state before step i that assigning v the value turns into state, or -1 if there is none */
+    private long previous(int i, int v, long state, int value) {
+        long before = state;
+        for (int k : component.constraintsOf()[v]) {
+            if (first[k] == i) {
+                if (last[k] > i) {
+                    before = withField(before, slot[k], 0);
+                }
+                continue;
+            }
+            int bombs = (last[k] == i ? component.targets()[k] : field(state, slot[k])) - value;
+            if (bombs < 0) {
+                return -1;
+            }
+            before = withField(before, slot[k], bombs);
+        }
+        return advance(i, v, before, value) == state ? before : -1;
+    }
+
+    /* weight of a state before step i, relative to the weights at step i - 1 */
+    private double weightBefore(int i, long state) {
+        if (i == 0) {
+            return state == 0 ? 1 : 0;
+        }
+        int s = Arrays.binarySearch(states[i - 1], state);
+        return s >= 0 ? weights[i - 1][s] : 0;
+    }
+
+    private static int field(long state, int slot) {
+        return (int) (state >>> (4 * slot)) & 0xF;
+    }
+
+    private static long withField(long state, int slot, int value) {
+        return state & ~(0xFL << (4 * slot)) | (long) value << (4 * slot);
+    }
+
+    /* open-addressing map from states to weights, reused across steps */
+    private static final class StateMap {
+        private long[] keys = new long[16];
+        private double[] values = new double[16];
+        private boolean[] used = new boolean[16];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        void clear() {
+            Arrays.fill(used, false);
+            size = 0;
+        }
+
+        void add(long key, double value) {
+            if (2 * (size + 1) > keys.length) {
+                grow();
+            }
+            int i = indexOf(key);
+            if (!used[i]) {
+                used[i] = true;
+                keys[i] = key;
+                values[i] = 0;
+                size++;
+            }
+            values[i] += value;
+        }
+
+        double get(long key) {
+            int i = indexOf(key);
+            return used[i] ? values[i] : 0;
+        }
+
+        long[] sortedKeys() {
+            long[] result = new long[size];
+            int n = 0;
+            for (int i = 0; i < keys.length; i++) {
+                if (used[i]) {
+                    result[n++] = keys[i];
+                }
+            }
+            Arrays.sort(result);
+            return result;
+        }
+
+        private int indexOf(long key) {
+            int mask = keys.length - 1;
+            int i = Long.hashCode(key * 0x9E3779B97F4A7C15L) & mask;
+            while (used[i] && keys[i] != key) {
+                i = (i + 1) & mask;
+            }
+            return i;
+        }
+
+        private void grow() {
+            long[] oldKeys = keys;
+            double[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            values = new double[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    add(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+    }
+}
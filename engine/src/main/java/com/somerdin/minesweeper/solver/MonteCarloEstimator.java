@@ -0,0 +1,536 @@
+package com.somerdin.minesweeper.solver;
+
+import com.somerdin.minesweeper.game.IntList;
+import com.somerdin.minesweeper.game.Minefield;
+import com.somerdin.minesweeper.solver.ProbabilityCalculator.Component;
+import com.somerdin.minesweeper.solver.ProbabilityCalculator.ComponentSolutions;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+
+/**
+ * Estimates bomb probabilities by sampling bomb layouts consistent with the
+ * revealed numbers, for frontiers too large for {@link ProbabilityCalculator}
+ * to enumerate.
+ * <p>
+ * The frontier is split into the same components the calculator uses, and
+ * each sample draws one layout of every component. Each layout is weighted by
+ * the inverse of the chance of drawing it, which turns the weighted counts of
+ * layouts with k bombs into unbiased estimates of the counts enumeration
+ * would find; these are combined exactly like enumerated ones, including the
+ * weighting of the rest of the board.
+ * <p>
+ * Layouts are drawn from {@link LayoutCounts} where a component is thin
+ * enough to sweep, which picks them nearly in proportion to their true
+ * weight. Otherwise variables are assigned in search order with unit
+ * propagation through the numbers: both values of each variable are tried,
+ * a value leading to a contradiction forces the other, and a free choice
+ * picks a bomb with the density its numbers still need.
+ * <p>
+ * Every thread of the pool draws independent samples with its own
+ * {@link SplittableRandom}. Merged estimates are published as they converge,
+ * with a confidence interval from the effective sample size of the weights.
+ */
+public final class MonteCarloEstimator {
+    public static final long DEFAULT_PUBLISH_INTERVAL_MILLIS = 100;
+
+    // samples a thread draws between merging them into the shared totals
+    private static final int SAMPLES_PER_MERGE = 16;
+    // log weight a sample may exceed the running scale by before the sums are rescaled
+    private static final double RESCALE_THRESHOLD = 64;
+    // bounds on the chance of choosing a bomb, so no layout becomes too unlikely to draw
+    private static final double MIN_PROPOSAL = 0.05;
+    // effective samples a component needs before they replace its density estimate
+    private static final double MIN_EFFECTIVE_SAMPLES = 10;
+    // z-score of a 95% confidence interval
+    private static final double Z_95 = 1.96;
+
+    // value of a variable in a layout being drawn
+    private static final byte UNSET = 0;
+    private static final byte SAFE = 1;
+    private static final byte BOMB = 2;
+
+    private final ForkJoinPool pool;
+    private final SplittableRandom random;
+    private final long publishIntervalMillis;
+
+    public MonteCarloEstimator() {
+        this(ForkJoinPool.commonPool(), new SplittableRandom().nextLong(), DEFAULT_PUBLISH_INTERVAL_MILLIS);
+    }
+
+    public MonteCarloEstimator(ForkJoinPool pool, long seed, long publishIntervalMillis) {
+        this.pool = pool;
+        this.random = new SplittableRandom(seed);
+        this.publishIntervalMillis = publishIntervalMillis;
+    }
+
+    /*
+     * starts sampling up to maxSamples layouts of the minefield as it is now;
+     * merged estimates are passed to listener, from a worker thread, at most
+     * once per publish interval and once more when sampling ends
+     */
+    public Estimation start(Minefield minefield, long maxSamples, Consumer<Probabilities> listener) {
+        return start(BoardSnapshot.of(minefield), maxSamples, listener);
+    }
+
+    /* starts sampling layouts of a snapshot, which may be taken on another thread */
+    public synchronized Estimation start(BoardSnapshot snapshot, long maxSamples, Consumer<Probabilities> listener) {
+        if (maxSamples <= 0) {
+            throw new IllegalArgumentException("maxSamples must be positive: " + maxSamples);
+        }
+        Frontier frontier = Frontier.of(snapshot);
+        List<Component> components = ProbabilityCalculator.components(frontier);
+        int threads = components.isEmpty() ? 1 : Math.max(1, pool.getParallelism());
+
+        Estimation estimation = new Estimation(frontier, components, snapshot.bombs(), maxSamples,
+                publishIntervalMillis * 1_000_000, threads, listener);
+        for (int k = 0; k < threads; k++) {
+            Sampler sampler = new Sampler(estimation, random.split());
+            pool.execute(sampler::run);
+        }
+        return estimation;
+    }
+
+    /* a running estimate, merged from all sampling threads */
+    public static final class Estimation {
+        private final Frontier frontier;
+        private final List<Component> components;
+        private final int bombs;
+        private final long maxSamples;
+        private final long publishIntervalNanos;
+        private final Consumer<Probabilities> listener;
+
+        private final double logOdds;
+        // sweeps of each component, built by the first thread to need them; null if too wide
+        private final LayoutCounts[] layoutCounts;
+        private final boolean[] swept;
+
+        private final WeightedSums[] totals;
+        private long samples;
+        private int runningSamplers;
+        private long lastPublish;
+        private Probabilities latest;
+        private volatile boolean cancelled;
+        private final CompletableFuture<Probabilities> result = new CompletableFuture<>();
+
+        private Estimation(Frontier frontier,
+                           List<Component> components,
+                           int bombs,
+                           long maxSamples,
+                           long publishIntervalNanos,
+                           int samplers,
+                           Consumer<Probabilities> listener) {
+            this.frontier = frontier;
+            this.components = components;
+            this.bombs = bombs;
+            this.maxSamples = maxSamples;
+            this.publishIntervalNanos = publishIntervalNanos;
+            this.listener = listener;
+            this.runningSamplers = samplers;
+            this.lastPublish = System.nanoTime();
+
+            logOdds = frontier.logOdds(bombs);
+            layoutCounts = new LayoutCounts[components.size()];
+            swept = new boolean[components.size()];
+
+            totals = new WeightedSums[components.size()];
+            for (int c = 0; c < totals.length; c++) {
+                totals[c] = new WeightedSums(components.get(c).variables().length);
+            }
+        }
+
+        /* stops sampling; the result completes with the estimate so far */
+        public void cancel() {
+            cancelled = true;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /* the latest published estimate, or null if none has been published yet */
+        public synchronized Probabilities latest() {
+            return latest;
+        }
+
+        /* completes with the final estimate once every thread has stopped */
+        public CompletableFuture<Probabilities> result() {
+            return result;
+        }
+
+        /* the sweep of a component, or null if it cannot be swept */
+        private LayoutCounts layoutCounts(int c) {
+            synchronized (layoutCounts) {
+                if (!swept[c]) {
+                    // building under the lock keeps other threads from sweeping the same component
+                    layoutCounts[c] = LayoutCounts.of(components.get(c), logOdds, this::isCancelled);
+                    swept[c] = true;
+                }
+                return layoutCounts[c];
+            }
+        }
+
+        /* adds a thread's samples and returns false once enough have been drawn */
+        private synchronized boolean merge(WeightedSums[] sums, long count) {
+            for (int c = 0; c < totals.length; c++) {
+                totals[c].addAll(sums[c]);
+            }
+            samples += count;
+
+            long now = System.nanoTime();
+            if (now - lastPublish >= publishIntervalNanos && samples < maxSamples) {
+                lastPublish = now;
+                publish();
+            }
+            return samples < maxSamples && !cancelled;
+        }
+
+        private synchronized void samplerStopped() {
+            if (--runningSamplers == 0) {
+                publish();
+                result.complete(latest);
+            }
+        }
+
+        private void publish() {
+            List<ComponentSolutions> solutions = new ArrayList<>();
+            for (int c = 0; c < totals.length; c++) {
+                solutions.add(totals[c].toSolutions(components.get(c), logOdds));
+            }
+            Probabilities probabilities = ProbabilityCalculator.combine(frontier, components, solutions, bombs, false);
+
+            // widest interval over the frontier, each tile judged by its own component's samples
+            double worst = 0;
+            double leastSamples = Double.POSITIVE_INFINITY;
+            for (int c = 0; c < totals.length; c++) {
+                double effective = Math.max(1, totals[c].effectiveSampleSize(logOdds));
+                leastSamples = Math.min(leastSamples, effective);
+                for (int variable : components.get(c).variables()) {
+                    int tile = frontier.tiles()[variable];
+                    double p = probabilities.probability(tile / frontier.cols(), tile % frontier.cols());
+                    worst = Math.max(worst, p * (1 - p) / effective);
+                }
+            }
+            if (!components.isEmpty()) {
+                double other = probabilities.getOtherProbability();
+                worst = Math.max(worst, other * (1 - other) / leastSamples);
+            }
+
+            latest = probabilities.sampled(samples, Z_95 * Math.sqrt(worst));
+            listener.accept(latest);
+        }
+    }
+
+    /*
+     * weighted counts of one component's sampled layouts by bomb count, held
+     * relative to exp(logScale) so weights far beyond double range still add up
+     */
+    private static final class WeightedSums {
+        private final int size;
+        private double logScale = Double.NEGATIVE_INFINITY;
+        private final double[] weights;
+        private final double[] squaredWeights;
+        // weights of layouts with a bomb on each variable, by bomb count; null until one is drawn
+        private final double[][] mineWeights;
+
+        WeightedSums(int size) {
+            this.size = size;
+            weights = new double[size + 1];
+            squaredWeights = new double[size + 1];
+            mineWeights = new double[size + 1][];
+        }
+
+        void add(boolean[] mine, int bombs, double logWeight) {
+            if (logWeight > logScale + RESCALE_THRESHOLD) {
+                rescale(logWeight);
+            }
+            double w = Math.exp(logWeight - logScale);
+            weights[bombs] += w;
+            if (mineWeights[bombs] == null) {
+                mineWeights[bombs] = new double[size];
+            }
+            for (int v = 0; v < size; v++) {
+                if (mine[v]) {
+                    mineWeights[bombs][v] += w;
+                }
+            }
+            squaredWeights[bombs] += w * w;
+        }
+
+        void addAll(WeightedSums other) {
+            if (other.logScale == Double.NEGATIVE_INFINITY) {
+                return;
+            }
+            if (other.logScale > logScale) {
+                rescale(other.logScale);
+            }
+            double factor = Math.exp(other.logScale - logScale);
+            for (int k = 0; k <= size; k++) {
+                weights[k] += other.weights[k] * factor;
+                squaredWeights[k] += other.squaredWeights[k] * factor * factor;
+                if (other.mineWeights[k] == null) {
+                    continue;
+                }
+                if (mineWeights[k] == null) {
+                    mineWeights[k] = new double[size];
+                }
+                for (int v = 0; v < size; v++) {
+                    mineWeights[k][v] += other.mineWeights[k][v] * factor;
+                }
+            }
+        }
+
+        private void rescale(double newLogScale) {
+            double factor = logScale == Double.NEGATIVE_INFINITY ? 0 : Math.exp(logScale - newLogScale);
+            for (int k = 0; k <= size; k++) {
+                weights[k] *= factor;
+                squaredWeights[k] *= factor * factor;
+                if (mineWeights[k] != null) {
+                    for (int v = 0; v < size; v++) {
+                        mineWeights[k][v] *= factor;
+                    }
+                }
+            }
+            logScale = newLogScale;
+        }
+
+        void clear() {
+            logScale = Double.NEGATIVE_INFINITY;
+            Arrays.fill(weights, 0);
+            Arrays.fill(squaredWeights, 0);
+            for (double[] row : mineWeights) {
+                if (row != null) {
+                    Arrays.fill(row, 0);
+                }
+            }
+        }
+
+        /*
+         * the number of equally weighted samples these are worth, once each
+         * bomb count is scaled by odds^k as the combination does
+         */
+        double effectiveSampleSize(double logOdds) {
+            double max = Double.NEGATIVE_INFINITY;
+            for (int k = 0; k <= size; k++) {
+                if (weights[k] > 0) {
+                    max = Math.max(max, k * logOdds);
+                }
+            }
+            double sum = 0;
+            double sumOfSquares = 0;
+            for (int k = 0; k <= size; k++) {
+                if (weights[k] > 0) {
+                    double tilt = Math.exp(k * logOdds - max);
+                    sum += weights[k] * tilt;
+                    sumOfSquares += squaredWeights[k] * tilt * tilt;
+                }
+            }
+            return sumOfSquares > 0 ? sum * sum / sumOfSquares : 0;
+        }
+
+        ComponentSolutions toSolutions(Component component, double logOdds) {
+            // a few heavily weighted samples would pass off one layout as certain
+            if (effectiveSampleSize(logOdds) < MIN_EFFECTIVE_SAMPLES) {
+                return ComponentSolutions.estimate(component);
+            }
+            return new ComponentSolutions(weights, mineWeights, component.densityEstimates(), false);
+        }
+    }
+
+    /* draws independent samples on one thread */
+    private static final class Sampler {
+        private final Estimation estimation;
+        private final SplittableRandom random;
+
+        // per component: each number's bombs and unassigned variables, and the layout being drawn
+        private final int[][] assigned;
+        private final int[][] unassigned;
+        private final byte[][] layout;
+        private final boolean[][] mine;
+        private final WeightedSums[] sums;
+
+        // variables assigned so far in order, to undo a trial, and variables waiting for a forced value
+        private final IntList trail = new IntList();
+        private final IntList forced = new IntList();
+
+        Sampler(Estimation estimation, SplittableRandom random) {
+            this.estimation = estimation;
+            this.random = random;
+
+            int count = estimation.components.size();
+            assigned = new int[count][];
+            unassigned = new int[count][];
+            layout = new byte[count][];
+            mine = new boolean[count][];
+            sums = new WeightedSums[count];
+            for (int c = 0; c < count; c++) {
+                Component component = estimation.components.get(c);
+                assigned[c] = new int[component.targets().length];
+                unassigned[c] = new int[component.targets().length];
+                layout[c] = new byte[component.variables().length];
+                mine[c] = new boolean[component.variables().length];
+                sums[c] = new WeightedSums(component.variables().length);
+            }
+        }
+
+        void run() {
+            try {
+                if (!estimation.components.isEmpty()) {
+                    sample();
+                }
+            } finally {
+                estimation.samplerStopped();
+            }
+        }
+
+        private void sample() {
+            long count = 0;
+            while (!estimation.isCancelled()) {
+                for (int c = 0; c < sums.length; c++) {
+                    draw(c);
+                }
+                if (++count == SAMPLES_PER_MERGE) {
+                    boolean more = estimation.merge(sums, count);
+                    for (WeightedSums s : sums) {
+                        s.clear();
+                    }
+                    count = 0;
+                    if (!more) {
+                        return;
+                    }
+                }
+            }
+            estimation.merge(sums, count);
+        }
+
+        /* draws one layout of a component and records it with its weight */
+        private void draw(int c) {
+            LayoutCounts counts = estimation.layoutCounts(c);
+            if (counts != null) {
+                int bombs = counts.draw(random, mine[c]);
+                sums[c].add(mine[c], bombs, counts.logInverseChance(bombs));
+            } else {
+                propagatingDraw(c);
+            }
+        }
+
+        /* draws a layout by assigning variables with unit propagation; dead ends record nothing */
+        private void propagatingDraw(int c) {
+            Component component = estimation.components.get(c);
+            int[][] constraints = component.constraints();
+            for (int k = 0; k < constraints.length; k++) {
+                assigned[c][k] = 0;
+                unassigned[c][k] = constraints[k].length;
+            }
+            Arrays.fill(layout[c], UNSET);
+            trail.clear();
+
+            double logWeight = 0;
+            for (int v : component.searchOrder()) {
+                if (layout[c][v] != UNSET) {
+                    continue;
+                }
+                int mark = trail.size();
+                boolean safeFits = set(component, c, v, SAFE);
+                undo(component, c, mark);
+                boolean bombFits = set(component, c, v, BOMB);
+                undo(component, c, mark);
+
+                byte value;
+                if (safeFits && bombFits) {
+                    double p = Math.clamp(density(component, c, v), MIN_PROPOSAL, 1 - MIN_PROPOSAL);
+                    boolean bomb = random.nextDouble() < p;
+                    logWeight -= Math.log(bomb ? p : 1 - p);
+                    value = bomb ? BOMB : SAFE;
+                } else if (safeFits || bombFits) {
+                    value = bombFits ? BOMB : SAFE;
+                } else {
+                    return;
+                }
+                set(component, c, v, value);
+            }
+
+            int bombs = 0;
+            for (int v = 0; v < layout[c].length; v++) {
+                mine[c][v] = layout[c][v] == BOMB;
+                if (mine[c][v]) {
+                    bombs++;
+                }
+            }
+            sums[c].add(mine[c], bombs, logWeight);
+        }
+
+        /*
+         * assigns v, then every value the numbers force in turn; false on a
+         * contradiction, leaving the assignments made so far on the trail
+         */
+        private boolean set(Component component, int c, int v, byte value) {
+            int[] targets = component.targets();
+            forced.clear();
+            forced.add(v);
+            forced.add(value);
+            while (!forced.isEmpty()) {
+                byte next = (byte) forced.removeLast();
+                int x = forced.removeLast();
+                if (layout[c][x] != UNSET) {
+                    if (layout[c][x] != next) {
+                        return false;
+                    }
+                    continue;
+                }
+
+                layout[c][x] = next;
+                trail.add(x);
+                int bomb = next == BOMB ? 1 : 0;
+                for (int k : component.constraintsOf()[x]) {
+                    assigned[c][k] += bomb;
+                    unassigned[c][k]--;
+                }
+                for (int k : component.constraintsOf()[x]) {
+                    int needed = targets[k] - assigned[c][k];
+                    if (needed < 0 || needed > unassigned[c][k]) {
+                        return false;
+                    }
+                    if (unassigned[c][k] > 0 && (needed == 0 || needed == unassigned[c][k])) {
+                        byte rest = needed == 0 ? SAFE : BOMB;
+                        for (int w : component.constraints()[k]) {
+                            if (layout[c][w] == UNSET) {
+                                forced.add(w);
+                                forced.add(rest);
+                            }
+                        }
+                    }
+                }
+            }
+            return true;
+        }
+
+        /* unassigns the variables assigned since the trail had the given size */
+        private void undo(Component component, int c, int mark) {
+            while (trail.size() > mark) {
+                int x = trail.removeLast();
+                int bomb = layout[c][x] == BOMB ? 1 : 0;
+                for (int k : component.constraintsOf()[x]) {
+                    assigned[c][k] -= bomb;
+                    unassigned[c][k]++;
+                }
+                layout[c][x] = UNSET;
+            }
+        }
+
+        /* bombs still needed per unassigned variable, averaged over the numbers around v */
+        private double density(Component component, int c, int v) {
+            int[] around = component.constraintsOf()[v];
+            double sum = 0;
+            for (int k : around) {
+                sum += (double) (component.targets()[k] - assigned[c][k]) / unassigned[c][k];
+            }
+            return sum / around.length;
+        }
+    }
+}
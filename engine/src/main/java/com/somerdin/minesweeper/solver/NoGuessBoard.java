@@ -0,0 +1,18 @@
+package com.somerdin.minesweeper.solver;
+
+import com.somerdin.minesweeper.game.Difficulty;
+
+/*
+ * a board found by NoGuessGenerator: starting a game from the seed and first
+ * revealing the start tile gives it. solvable is false if the search gave up,
+ * and candidates is the number of boards tried, including the one returned
+ */
+public record NoGuessBoard(Difficulty difficulty,
+                           long seed,
+                           int startRow,
+                           int startCol,
+                           boolean solvable,
+                           long candidates,
+                           long generationNanos) {
+
+}
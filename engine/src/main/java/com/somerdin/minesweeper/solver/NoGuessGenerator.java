@@ -0,0 +1,186 @@
+package com.somerdin.minesweeper.solver;
+
+import com.somerdin.minesweeper.game.Difficulty;
+import com.somerdin.minesweeper.game.GameResult;
+import com.somerdin.minesweeper.game.Minefield;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Finds boards that can be won from their start tile by logic alone.
+ * <p>
+ * A board is fully determined by its seed and first move, so a candidate is
+ * just a seed, and candidate i of a search is derived from the search's base
+ * seed and i alone. Each candidate is played from the start tile by a
+ * {@link Solver}, revealing only tiles it has proven safe, and kept if that
+ * wins the game. Workers on every core claim candidates in ascending order
+ * and stop once a solvable one is found below everything left to claim;
+ * candidates above the best found are abandoned mid-game. The result is
+ * always the lowest solvable index, so a base seed gives the same board on
+ * any number of cores. How long each search took is kept in a histogram.
+ */
+public final class NoGuessGenerator {
+    public static final long DEFAULT_TIME_LIMIT_MILLIS = 500;
+    // candidates tried before giving up, however much time is left
+    public static final long MAX_CANDIDATES = 1 << 20;
+
+    private static final long NOT_FOUND = Long.MAX_VALUE;
+
+    private final ForkJoinPool pool;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    public NoGuessGenerator() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public NoGuessGenerator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /* searches from a random base seed with the default time limit */
+    public NoGuessBoard generate(Difficulty difficulty) {
+        return generate(difficulty, ThreadLocalRandom.current().nextLong(), DEFAULT_TIME_LIMIT_MILLIS);
+    }
+
+    /*
+     * searches candidates of a base seed for a board solvable without
+     * guessing; if none is found in time, returns the first candidate's
+     * board marked as not solvable
+     */
+    public NoGuessBoard generate(Difficulty difficulty, long baseSeed, long timeLimitMillis) {
+        return generate(difficulty, baseSeed, timeLimitMillis, () -> false);
+    }
+
+    /* like generate(), but also gives up as soon as cancelled returns true */
+    public NoGuessBoard generate(Difficulty difficulty, long baseSeed, long timeLimitMillis, BooleanSupplier cancelled) {
+        if (timeLimitMillis < 0) {
+            throw new IllegalArgumentException("Time limit must not be negative.");
+        }
+        long start = System.nanoTime();
+        Search search = new Search(difficulty, baseSeed, start + timeLimitMillis * 1_000_000, cancelled);
+
+        List<ForkJoinTask<?>> workers = new ArrayList<>();
+        for (int i = 1; i < pool.getParallelism(); i++) {
+            workers.add(pool.submit(search::work));
+        }
+        // the calling thread searches too, so a busy pool only slows the search down
+        search.work();
+        for (ForkJoinTask<?> worker : workers) {
+            worker.join();
+        }
+
+        long elapsed = System.nanoTime() - start;
+        latencies.record(elapsed);
+        long found = search.best.get();
+        boolean solvable = found != NOT_FOUND;
+        return new NoGuessBoard(
+                difficulty,
+                candidateSeed(baseSeed, solvable ? found : 0),
+                startRow(difficulty),
+                startCol(difficulty),
+                solvable,
+                solvable ? found + 1 : Math.min(search.next.get(), MAX_CANDIDATES),
+                elapsed);
+    }
+
+    /* how long each call to generate() took */
+    public LatencyHistogram latencies() {
+        return latencies;
+    }
+
+    /* row of the tile every generated board is started from */
+    public static int startRow(Difficulty difficulty) {
+        return difficulty.rows() / 2;
+    }
+
+    /* column of the tile every generated board is started from */
+    public static int startCol(Difficulty difficulty) {
+        return difficulty.cols() / 2;
+    }
+
+    /* seed of candidate index of a search; distinct indices give unrelated seeds */
+    public static long candidateSeed(long baseSeed, long index) {
+        // the finalizer of SplittableRandom, applied to a golden-ratio step per index
+        long z = baseSeed + index * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /* true if the board of a seed is won from the start tile by revealing only tiles proven safe */
+    public static boolean isSolvable(Difficulty difficulty, long seed) {
+        Minefield minefield = new Minefield(difficulty);
+        return solves(minefield, new Solver(minefield), difficulty, seed, () -> false);
+    }
+
+    /* plays a seed's board on a reusable minefield and solver; false if cancelled first */
+    private static boolean solves(Minefield minefield,
+                                  Solver solver,
+                                  Difficulty difficulty,
+                                  long seed,
+                                  BooleanSupplier cancelled) {
+        minefield.startNewGame(difficulty, seed);
+        solver.reset();
+        int row = startRow(difficulty);
+        int col = startCol(difficulty);
+        minefield.chooseCell(row, col);
+        solver.update(row, col);
+
+        while (minefield.getGameResult() == GameResult.IN_PROGRESS) {
+            Hint hint = solver.hint();
+            if (hint == null || cancelled.getAsBoolean()) {
+                return false;
+            }
+            if (hint.mine()) {
+                // flagged only so the solver moves on to the next hint
+                minefield.toggleFlag(hint.row(), hint.col());
+            } else {
+                minefield.chooseCell(hint.row(), hint.col());
+                solver.update(hint.row(), hint.col());
+            }
+        }
+        return minefield.getGameResult() == GameResult.GAME_WON;
+    }
+
+    /* candidates claimed so far and the lowest solvable one, shared by the workers of one search */
+    private static final class Search {
+        private final Difficulty difficulty;
+        private final long baseSeed;
+        private final long deadline;
+        private final BooleanSupplier cancelled;
+        private final AtomicLong next = new AtomicLong();
+        private final AtomicLong best = new AtomicLong(NOT_FOUND);
+
+        Search(Difficulty difficulty, long baseSeed, long deadline, BooleanSupplier cancelled) {
+            this.difficulty = difficulty;
+            this.baseSeed = baseSeed;
+            this.deadline = deadline;
+            this.cancelled = cancelled;
+        }
+
+        void work() {
+            Minefield minefield = new Minefield(difficulty);
+            Solver solver = new Solver(minefield);
+            while (true) {
+                // once something is found, every lower index has been claimed and is finished below
+                if (best.get() == NOT_FOUND && (System.nanoTime() > deadline || cancelled.getAsBoolean())) {
+                    return;
+                }
+                long index = next.getAndIncrement();
+                if (index >= best.get() || index >= MAX_CANDIDATES) {
+                    return;
+                }
+                if (solves(minefield, solver, difficulty, candidateSeed(baseSeed, index),
+                        () -> best.get() < index || cancelled.getAsBoolean())) {
+                    best.accumulateAndGet(index, Math::min);
+                }
+            }
+        }
+    }
+}
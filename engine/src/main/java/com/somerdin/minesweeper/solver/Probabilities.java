@@ -0,0 +1,77 @@
+package com.somerdin.minesweeper.solver;
+
+import java.util.Arrays;
+
+/**
+ * Bomb probabilities for the hidden tiles of a board at one point in a game.
+ * Tiles next to a revealed number each have their own probability; every
+ * other hidden tile shares the same one. Probabilities of revealed tiles are
+ * meaningless.
+ */
+public final class Probabilities {
+    private final int cols;
+    // frontier tile indices in ascending order, and their probabilities
+    private final int[] frontierTiles;
+    private final double[] frontierProbabilities;
+    private final double otherProbability;
+    private final boolean exact;
+    // zero unless the probabilities were estimated by sampling
+    private final long sampleCount;
+    private final double maxError;
+
+    Probabilities(int cols, int[] frontierTiles, double[] frontierProbabilities, double otherProbability, boolean exact) {
+        this(cols, frontierTiles, frontierProbabilities, otherProbability, exact, 0, 0);
+    }
+
+    Probabilities(int cols,
+                  int[] frontierTiles,
+                  double[] frontierProbabilities,
+                  double otherProbability,
+                  boolean exact,
+                  long sampleCount,
+                  double maxError) {
+        this.cols = cols;
+        this.frontierTiles = frontierTiles;
+        this.frontierProbabilities = frontierProbabilities;
+        this.otherProbability = otherProbability;
+        this.exact = exact;
+        this.sampleCount = sampleCount;
+        this.maxError = maxError;
+    }
+
+    /* the same probabilities, as estimated from a number of samples */
+    Probabilities sampled(long samples, double error) {
+        return new Probabilities(cols, frontierTiles, frontierProbabilities, otherProbability, false, samples, error);
+    }
+
+    /* probability that a hidden tile is a bomb */
+    public double probability(int row, int col) {
+        int k = Arrays.binarySearch(frontierTiles, row * cols + col);
+        return k >= 0 ? frontierProbabilities[k] : otherProbability;
+    }
+
+    /* probability shared by hidden tiles that are not next to any revealed number */
+    public double getOtherProbability() {
+        return otherProbability;
+    }
+
+    /* number of hidden tiles next to a revealed number */
+    public int frontierSize() {
+        return frontierTiles.length;
+    }
+
+    /* false if some probabilities are estimates, because calculating them exactly ran out of time */
+    public boolean isExact() {
+        return exact;
+    }
+
+    /* number of sampled layouts the probabilities were estimated from; 0 if they were calculated */
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    /* half-width of a 95% confidence interval around the least certain sampled probability */
+    public double getMaxError() {
+        return maxError;
+    }
+}
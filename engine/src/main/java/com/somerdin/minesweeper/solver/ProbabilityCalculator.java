@@ -0,0 +1,589 @@
+package com.somerdin.minesweeper.solver;
+
+import com.somerdin.minesweeper.game.IntList;
+import com.somerdin.minesweeper.game.Minefield;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Calculates the exact bomb probability of every hidden tile.
+ * <p>
+ * Hidden tiles next to revealed numbers (the frontier) are split into
+ * components that share no number, so each component's arrangements can be
+ * enumerated on its own, in parallel. Each component yields its number of
+ * solutions for every bomb count, and how many of them have a bomb on each
+ * tile. The components are then combined with the rest of the hidden tiles,
+ * weighting each total frontier bomb count by the number of ways to place
+ * the remaining bombs off the frontier (a binomial coefficient, handled in
+ * log space). Components seen before, such as those far from the last move,
+ * are taken from a cache instead of enumerated again.
+ * <p>
+ * Enumeration stops at a deadline, or after a number of steps per component
+ * if the calculator has a step limit. Components not finished by then get an
+ * estimate from their numbers' densities, and the result is marked inexact.
+ * Without a time limit, only the step limit decides which components are
+ * estimated, so the result depends only on the board.
+ */
+public final class ProbabilityCalculator {
+    public static final long DEFAULT_TIME_LIMIT_MILLIS = 250;
+    // time limit of a calculation that only stops at the step limit
+    public static final long NO_TIME_LIMIT = Long.MAX_VALUE;
+    public static final long NO_STEP_LIMIT = Long.MAX_VALUE;
+
+    private static final int MAX_CACHED_COMPONENTS = 4096;
+    // enumeration steps between deadline checks
+    private static final int DEADLINE_CHECK_INTERVAL = 1 << 12;
+    // larger components are estimated without trying to enumerate them
+    private static final int MAX_ENUMERATED_VARIABLES = 256;
+
+    private final Executor executor;
+    // enumeration steps per component after which it is estimated instead
+    private final long stepLimit;
+    private final Map<ComponentKey, ComponentSolutions> cache = new ConcurrentHashMap<>();
+
+    public ProbabilityCalculator() {
+        this(ForkJoinPool.commonPool(), NO_STEP_LIMIT);
+    }
+
+    /*
+     * enumerates components on an executor, such as Runnable::run to keep
+     * them on the calling thread, estimating any component that takes more
+     * than stepLimit steps
+     */
+    public ProbabilityCalculator(Executor executor, long stepLimit) {
+        if (stepLimit <= 0) {
+            throw new IllegalArgumentException("Step limit must be positive.");
+        }
+        this.executor = executor;
+        this.stepLimit = stepLimit;
+    }
+
+    public Probabilities calculate(Minefield minefield) {
+        return calculate(minefield, DEFAULT_TIME_LIMIT_MILLIS);
+    }
+
+    public Probabilities calculate(BoardSnapshot snapshot) {
+        return calculate(snapshot, DEFAULT_TIME_LIMIT_MILLIS);
+    }
+
+    /* calculates probabilities, estimating any component not enumerated within the time limit */
+    public Probabilities calculate(Minefield minefield, long timeLimitMillis) {
+        long deadline = deadline(timeLimitMillis);
+        return calculateBy(BoardSnapshot.of(minefield), deadline);
+    }
+
+    /*
+     * calculates probabilities of a snapshot, which may be taken on another
+     * thread; the time limit covers scanning the board for the frontier too
+     */
+    public Probabilities calculate(BoardSnapshot snapshot, long timeLimitMillis) {
+        return calculateBy(snapshot, deadline(timeLimitMillis));
+    }
+
+    /* System.nanoTime() value a time limit from now, or one never reached for NO_TIME_LIMIT */
+    private static long deadline(long timeLimitMillis) {
+        return timeLimitMillis == NO_TIME_LIMIT ? Long.MAX_VALUE : System.nanoTime() + timeLimitMillis * 1_000_000;
+    }
+
+    private Probabilities calculateBy(BoardSnapshot snapshot, long deadline) {
+        Frontier frontier = Frontier.of(snapshot);
+        List<Component> components = components(frontier);
+
+        // enumerate components in parallel, reusing cached ones
+        List<ComponentSolutions> solutions = new ArrayList<>();
+        List<CompletableFuture<ComponentSolutions>> tasks = new ArrayList<>();
+        for (Component component : components) {
+            ComponentSolutions cached = cache.get(component.key());
+            solutions.add(cached);
+            tasks.add(cached == null
+                    ? CompletableFuture.supplyAsync(() -> component.solve(deadline, stepLimit), executor)
+                    : null);
+        }
+
+        boolean exact = true;
+        for (int c = 0; c < components.size(); c++) {
+            if (tasks.get(c) == null) {
+                continue;
+            }
+            ComponentSolutions result = tasks.get(c).join();
+            if (result.exact()) {
+                if (cache.size() >= MAX_CACHED_COMPONENTS) {
+                    cache.clear();
+                }
+                cache.put(components.get(c).key(), result);
+            } else {
+                exact = false;
+            }
+            solutions.set(c, result);
+        }
+
+        return combine(frontier, components, solutions, snapshot.bombs(), exact);
+    }
+
+    /* weighs each component's solutions against every other component's and the rest of the board's */
+    static Probabilities combine(Frontier frontier,
+                                 List<Component> components,
+                                 List<ComponentSolutions> solutions,
+                                 int bombs,
+                                 boolean exact) {
+        int others = frontier.otherCount();
+
+        // scale the weight of k frontier bombs by odds^k and the weight of the
+        // rest of the board by odds^-k, using the odds of a hidden tile being a
+        // bomb; both then peak near the plausible bomb counts, where otherwise
+        // one could underflow exactly where the other is largest
+        double logOdds = frontier.logOdds(bombs);
+
+        double[] probabilities = new double[frontier.variableCount()];
+        double[] all = new double[] {1};
+        double[] offFrontier = binomialWeights(frontier, bombs, logOdds);
+        if (!components.isEmpty()) {
+            Combination combination = new Combination(components, solutions, logOdds, probabilities);
+            all = combination.combine(offFrontier);
+        }
+
+        double weight = 0;
+        double expectedOthers = 0;
+        for (int k = 0; k < all.length; k++) {
+            double w = all[k] * offFrontier[k];
+            weight += w;
+            expectedOthers += w * (bombs - k);
+        }
+        double otherProbability = others > 0 && weight > 0 ? expectedOthers / weight / others : 0;
+
+        return new Probabilities(frontier.cols(), frontier.tiles(), probabilities, otherProbability, exact);
+    }
+
+    /* convolution of two weight distributions, scaled so its largest entry is 1 */
+    private static double[] convolve(double[] a, double[] b) {
+        double[] result = new double[a.length + b.length - 1];
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] == 0) {
+                continue;
+            }
+            for (int j = 0; j < b.length; j++) {
+                result[i + j] += a[i] * b[j];
+            }
+        }
+        return normalize(result);
+    }
+
+    /* result[k] = sum of a[j] * b[k + j], the weights b gives each count of a's partner */
+    private static double[] correlate(double[] a, double[] b, int length) {
+        double[] result = new double[length];
+        for (int k = 0; k < length; k++) {
+            for (int j = 0; j < a.length; j++) {
+                result[k] += a[j] * b[k + j];
+            }
+        }
+        return normalize(result);
+    }
+
+    private static double[] normalize(double[] weights) {
+        double max = 0;
+        for (double w : weights) {
+            max = Math.max(max, w);
+        }
+        if (max > 0) {
+            for (int k = 0; k < weights.length; k++) {
+                weights[k] /= max;
+            }
+        }
+        return weights;
+    }
+
+    /*
+     * C(others, bombs - k) * odds^-k for k = 0 .. frontier size, relative to
+     * the largest of them; 0 where bombs - k does not fit on the other tiles
+     */
+    private static double[] binomialWeights(Frontier frontier, int bombs, double logOdds) {
+        double[] logs = frontier.offFrontierLogWeights(bombs);
+        double max = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < logs.length; k++) {
+            logs[k] -= k * logOdds;
+            max = Math.max(max, logs[k]);
+        }
+
+        double[] weights = new double[logs.length];
+        if (max == Double.NEGATIVE_INFINITY) {
+            return weights;
+        }
+        for (int k = 0; k < logs.length; k++) {
+            weights[k] = Math.exp(logs[k] - max);
+        }
+        return weights;
+    }
+
+    /*
+     * combines components pairwise in a tree, so each component's weights
+     * given all the others come from its parent's and sibling's, instead of
+     * combining all the others once per component
+     */
+    private static final class Combination {
+        private final List<Component> components;
+        private final List<ComponentSolutions> solutions;
+        private final double[] probabilities;
+
+        // scaled weights of each component, and of each tree node's components together
+        private final double[][] weights;
+        private final double[][] tree;
+
+        Combination(List<Component> components, List<ComponentSolutions> solutions, double logOdds, double[] probabilities) {
+            this.components = components;
+            this.solutions = solutions;
+            this.probabilities = probabilities;
+            weights = new double[components.size()][];
+            for (int c = 0; c < weights.length; c++) {
+                weights[c] = tilt(solutions.get(c).weights(), logOdds);
+            }
+            tree = new double[4 * components.size()][];
+        }
+
+        /* fills in frontier probabilities and returns the weights of each total frontier bomb count */
+        double[] combine(double[] offFrontier) {
+            build(1, 0, components.size());
+            distribute(1, 0, components.size(), offFrontier);
+            return tree[1];
+        }
+
+        private double[] build(int node, int lo, int hi) {
+            if (hi - lo == 1) {
+                tree[node] = weights[lo];
+            } else {
+                int mid = (lo + hi) >>> 1;
+                tree[node] = convolve(build(2 * node, lo, mid), build(2 * node + 1, mid, hi));
+            }
+            return tree[node];
+        }
+
+        /* given[k] is the weight of the rest of the board when this node's components hold k bombs */
+        private void distribute(int node, int lo, int hi, double[] given) {
+            if (hi - lo == 1) {
+                settle(lo, given);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            double[] left = tree[2 * node];
+            double[] right = tree[2 * node + 1];
+            distribute(2 * node, lo, mid, correlate(right, given, left.length));
+            distribute(2 * node + 1, mid, hi, correlate(left, given, right.length));
+        }
+
+        private void settle(int c, double[] given) {
+            ComponentSolutions solution = solutions.get(c);
+            double[] raw = solution.weights();
+            double[] scaled = weights[c];
+            int[] variables = components.get(c).variables();
+
+            double total = 0;
+            double[] mine = new double[variables.length];
+            for (int k = 0; k < scaled.length; k++) {
+                double[] mineWeights = solution.mineWeights()[k];
+                if (raw[k] == 0 || mineWeights == null) {
+                    continue;
+                }
+                total += scaled[k] * given[k];
+                double factor = scaled[k] * given[k] / raw[k];
+                for (int v = 0; v < variables.length; v++) {
+                    mine[v] += mineWeights[v] * factor;
+                }
+            }
+
+            for (int v = 0; v < variables.length; v++) {
+                probabilities[variables[v]] = total > 0 ? mine[v] / total : solution.estimates()[v];
+            }
+        }
+
+        /* weights[k] * odds^k, relative to the largest of them */
+        private static double[] tilt(double[] weights, double logOdds) {
+            double[] logs = new double[weights.length];
+            double max = Double.NEGATIVE_INFINITY;
+            for (int k = 0; k < weights.length; k++) {
+                logs[k] = weights[k] > 0 ? Math.log(weights[k]) + k * logOdds : Double.NEGATIVE_INFINITY;
+                max = Math.max(max, logs[k]);
+            }
+            double[] result = new double[weights.length];
+            if (max == Double.NEGATIVE_INFINITY) {
+                return result;
+            }
+            for (int k = 0; k < weights.length; k++) {
+                result[k] = Math.exp(logs[k] - max);
+            }
+            return result;
+        }
+    }
+
+    /* splits the frontier into groups of tiles linked by shared numbers */
+    static List<Component> components(Frontier frontier) {
+        // a label is the smallest variable of its group, so it is seen before the rest of the group
+        int[] labels = frontier.componentLabels();
+        int[] componentOf = new int[labels.length];
+        List<IntList> variables = new ArrayList<>();
+        List<IntList> constraints = new ArrayList<>();
+        for (int v = 0; v < labels.length; v++) {
+            if (labels[v] == v) {
+                componentOf[v] = variables.size();
+                variables.add(new IntList());
+                constraints.add(new IntList());
+            }
+            variables.get(componentOf[labels[v]]).add(v);
+        }
+        int[][] constraintVariables = frontier.constraintVariables();
+        for (int c = 0; c < constraintVariables.length; c++) {
+            constraints.get(componentOf[labels[constraintVariables[c][0]]]).add(c);
+        }
+
+        List<Component> components = new ArrayList<>();
+        for (int k = 0; k < variables.size(); k++) {
+            components.add(Component.of(frontier, variables.get(k).toArray(), constraints.get(k)));
+        }
+        return components;
+    }
+
+    /*
+     * frontier tiles linked by numbers; variables are frontier ids in
+     * ascending order, and constraints refer to positions in that array
+     */
+    record Component(int[] variables,
+                     int[][] constraints,
+                     int[] targets,
+                     int[][] constraintsOf,
+                     int[] searchOrder,
+                     ComponentKey key) {
+
+        static Component of(Frontier frontier, int[] variables, IntList constraintIds) {
+            int[][] constraints = new int[constraintIds.size()][];
+            int[] targets = new int[constraintIds.size()];
+            IntList[] lists = new IntList[variables.length];
+            for (int v = 0; v < lists.length; v++) {
+                lists[v] = new IntList();
+            }
+            for (int c = 0; c < constraints.length; c++) {
+                int[] global = frontier.constraintVariables()[constraintIds.get(c)];
+                constraints[c] = new int[global.length];
+                for (int k = 0; k < global.length; k++) {
+                    // variables are sorted, so a frontier id's position is found by search
+                    constraints[c][k] = Arrays.binarySearch(variables, global[k]);
+                    lists[constraints[c][k]].add(c);
+                }
+                targets[c] = frontier.targets()[constraintIds.get(c)];
+            }
+            int[][] constraintsOf = new int[variables.length][];
+            for (int v = 0; v < constraintsOf.length; v++) {
+                constraintsOf[v] = lists[v].toArray();
+            }
+
+            // the same tiles under the same numbers always have the same solutions
+            IntList key = new IntList();
+            for (int variable : variables) {
+                key.add(frontier.tiles()[variable]);
+            }
+            Integer[] byContent = new Integer[constraints.length];
+            for (int c = 0; c < byContent.length; c++) {
+                byContent[c] = c;
+            }
+            Arrays.sort(byContent, (a, b) -> Arrays.compare(constraints[a], constraints[b]) != 0
+                    ? Arrays.compare(constraints[a], constraints[b])
+                    : Integer.compare(targets[a], targets[b]));
+            for (int c : byContent) {
+                key.add(-1 - targets[c]);
+                for (int v : constraints[c]) {
+                    key.add(v);
+                }
+            }
+            return new Component(variables, constraints, targets, constraintsOf,
+                    searchOrder(constraints, constraintsOf), new ComponentKey(key.toArray()));
+        }
+
+        /*
+         * variables in breadth-first order through shared numbers, so a
+         * search settles each number soon after reaching its first variable
+         */
+        private static int[] searchOrder(int[][] constraints, int[][] constraintsOf) {
+            int n = constraintsOf.length;
+            int[] result = new int[n];
+            boolean[] seen = new boolean[n];
+            int head = 0;
+            int tail = 0;
+            for (int start = 0; start < n; start++) {
+                if (seen[start]) {
+                    continue;
+                }
+                seen[start] = true;
+                result[tail++] = start;
+                while (head < tail) {
+                    int v = result[head++];
+                    for (int c : constraintsOf[v]) {
+                        for (int w : constraints[c]) {
+                            if (!seen[w]) {
+                                seen[w] = true;
+                                result[tail++] = w;
+                            }
+                        }
+                    }
+                }
+            }
+            return result;
+        }
+
+        ComponentSolutions solve(long deadline, long stepLimit) {
+            return new Enumerator(this, deadline, stepLimit).run();
+        }
+
+        /* each variable's bomb density averaged over the numbers around it */
+        double[] densityEstimates() {
+            double[] estimates = new double[variables.length];
+            for (int v = 0; v < estimates.length; v++) {
+                for (int c : constraintsOf[v]) {
+                    estimates[v] += (double) targets[c] / constraints[c].length;
+                }
+                estimates[v] = Math.min(1, estimates[v] / constraintsOf[v].length);
+            }
+            return estimates;
+        }
+    }
+
+    /* content-based key for caching component solutions */
+    private record ComponentKey(int[] data) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ComponentKey other && Arrays.equals(data, other.data);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(data);
+        }
+    }
+
+    /*
+     * number of solutions of a component with k bombs (weights[k]), and how
+     * many of those have a bomb on each variable (mineWeights[k][v], null if
+     * there are none with k bombs); both may share any positive scale
+     */
+    record ComponentSolutions(double[] weights, double[][] mineWeights, double[] estimates, boolean exact) {
+
+        /* treats the component as having its expected number of bombs, each tile at its density */
+        static ComponentSolutions estimate(Component component) {
+            double[] estimates = component.densityEstimates();
+            double expected = 0;
+            for (double p : estimates) {
+                expected += p;
+            }
+            int bombs = (int) Math.round(expected);
+
+            double[] weights = new double[estimates.length + 1];
+            double[][] mineWeights = new double[estimates.length + 1][];
+            weights[bombs] = 1;
+            mineWeights[bombs] = estimates;
+            return new ComponentSolutions(weights, mineWeights, estimates, false);
+        }
+    }
+
+    /* backtracking search over a component's variables, pruned by each number's bounds */
+    private static final class Enumerator {
+        private final Component component;
+        private final long deadline;
+        private final long stepLimit;
+
+        private final int[] assigned;
+        private final int[] unassigned;
+        private final boolean[] mine;
+
+        private final double[] weights;
+        private final double[][] mineWeights;
+        private long steps;
+        // set once the deadline or step limit is passed
+        private boolean stopped;
+
+        Enumerator(Component component, long deadline, long stepLimit) {
+            this.component = component;
+            this.deadline = deadline;
+            this.stepLimit = stepLimit;
+
+            int n = component.variables().length;
+            int[][] constraints = component.constraints();
+            unassigned = new int[constraints.length];
+            for (int c = 0; c < constraints.length; c++) {
+                unassigned[c] = constraints[c].length;
+            }
+            assigned = new int[constraints.length];
+            mine = new boolean[n];
+            weights = new double[n + 1];
+            mineWeights = new double[n + 1][];
+        }
+
+        ComponentSolutions run() {
+            if (mine.length > MAX_ENUMERATED_VARIABLES) {
+                return ComponentSolutions.estimate(component);
+            }
+            search(0, 0);
+            if (stopped) {
+                return ComponentSolutions.estimate(component);
+            }
+            return new ComponentSolutions(weights, mineWeights, component.densityEstimates(), true);
+        }
+
+        private void search(int depth, int bombs) {
+            if (stopped) {
+                return;
+            }
+            if (++steps > stepLimit
+                    || steps % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                stopped = true;
+                return;
+            }
+            int[] order = component.searchOrder();
+            if (depth == order.length) {
+                weights[bombs]++;
+                if (mineWeights[bombs] == null) {
+                    mineWeights[bombs] = new double[mine.length];
+                }
+                for (int v = 0; v < mine.length; v++) {
+                    if (mine[v]) {
+                        mineWeights[bombs][v]++;
+                    }
+                }
+                return;
+            }
+
+            int v = order[depth];
+            for (int value = 0; value <= 1; value++) {
+                if (assign(v, value)) {
+                    mine[v] = value == 1;
+                    search(depth + 1, bombs + value);
+                    mine[v] = false;
+                }
+                unassign(v, value);
+            }
+        }
+
+        /* assigns a variable and returns false if some number can no longer be satisfied */
+        private boolean assign(int v, int value) {
+            boolean valid = true;
+            for (int c : component.constraintsOf()[v]) {
+                assigned[c] += value;
+                unassigned[c]--;
+                int target = component.targets()[c];
+                if (assigned[c] > target || assigned[c] + unassigned[c] < target) {
+                    valid = false;
+                }
+            }
+            return valid;
+        }
+
+        private void unassign(int v, int value) {
+            for (int c : component.constraintsOf()[v]) {
+                assigned[c] -= value;
+                unassigned[c]++;
+            }
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.somerdin.minesweeper.solver;
+
+import com.somerdin.minesweeper.game.CellStatus;
+import com.somerdin.minesweeper.game.IntList;
+import com.somerdin.minesweeper.game.Minefield;
+import com.somerdin.minesweeper.game.PackedBoard;
+
+import java.util.Arrays;
+
+/**
+ * Finds tiles that are certainly safe or certainly bombs from the revealed
+ * numbers of a {@link Minefield}, without trusting the player's flags.
+ * <p>
+ * The solver is updated after each move with the tile the move was made on.
+ * It learns only the tiles the move revealed, found by following revealed
+ * tiles with no neighboring bombs outward from the move, and re-examines
+ * only the numbers around them. Each number is a constraint on its hidden
+ * neighbors. Single-point propagation settles a number whose remaining bombs
+ * are zero or all of its unknown neighbors, and subset propagation compares
+ * it with nearby numbers whose unknown neighbors contain its own. The work
+ * per move is proportional to the tiles it changed, not the board size.
+ */
+public final class Solver {
+    // knowledge of a tile, in the low bits of known
+    private static final byte UNKNOWN = 0;
+    private static final byte REVEALED = 1;
+    private static final byte SAFE = 2;
+    private static final byte MINE = 3;
+    private static final int KNOWLEDGE_MASK = 0x03;
+    // set while a revealed tile is waiting in the worklist
+    private static final int QUEUED_BIT = 0x04;
+
+    private final Minefield minefield;
+
+    private int rows;
+    private int cols;
+    private byte[] known = new byte[0];
+
+    // revealed numbers whose neighbors changed since they were last examined
+    private final IntList worklist = new IntList();
+    // deduced tiles, kept until the player has acted on them
+    private final IntList safeTiles = new IntList();
+    private final IntList mineTiles = new IntList();
+
+    // scratch space for the unknown neighbors of two constraints
+    private final int[] unknownA = new int[8];
+    private final int[] unknownB = new int[8];
+    private final IntList learnStack = new IntList();
+
+    public Solver(Minefield minefield) {
+        this.minefield = minefield;
+        reset();
+    }
+
+    /* forgets everything; call when the minefield starts a new game */
+    public void reset() {
+        rows = minefield.rowCount();
+        cols = minefield.colCount();
+        if (known.length == rows * cols) {
+            Arrays.fill(known, UNKNOWN);
+        } else {
+            known = new byte[rows * cols];
+        }
+        worklist.clear();
+        safeTiles.clear();
+        mineTiles.clear();
+    }
+
+    /*
+     * learns the tiles revealed by a move made on the given tile, which may
+     * be a chord, and propagates the new constraints
+     */
+    public void update(int row, int col) {
+        for (int i = Math.max(0, row - 1); i <= Math.min(rows - 1, row + 1); i++) {
+            for (int j = Math.max(0, col - 1); j <= Math.min(cols - 1, col + 1); j++) {
+                learnFrom(i * cols + j);
+            }
+        }
+        propagate();
+    }
+
+    /* a hidden tile that is certainly safe, or else one that is certainly a bomb and not yet flagged; null if none is known */
+    public Hint hint() {
+        Hint hint = nextHint(safeTiles, false);
+        return hint != null ? hint : nextHint(mineTiles, true);
+    }
+
+    public boolean isKnownSafe(int row, int col) {
+        return (known[row * cols + col] & KNOWLEDGE_MASK) == SAFE;
+    }
+
+    public boolean isKnownMine(int row, int col) {
+        return (known[row * cols + col] & KNOWLEDGE_MASK) == MINE;
+    }
+
+    private Hint nextHint(IntList tiles, boolean mine) {
+        // drop tiles the player has already revealed or flagged
+        while (!tiles.isEmpty()) {
+            int tile = tiles.get(tiles.size() - 1);
+            CellStatus status = minefield.getCellStatus(tile / cols, tile % cols);
+            boolean done = mine ? status == CellStatus.FLAGGED : status == CellStatus.REVEALED;
+            if (!done) {
+                return new Hint(tile / cols, tile % cols, mine);
+            }
+            tiles.removeLast();
+        }
+        return null;
+    }
+
+    /* learns a newly revealed tile and, if it has no neighboring bombs, the revealed tiles around it */
+    private void learnFrom(int start) {
+        learnStack.clear();
+        learnStack.add(start);
+
+        while (!learnStack.isEmpty()) {
+            int tile = learnStack.removeLast();
+            if ((known[tile] & KNOWLEDGE_MASK) == REVEALED || (known[tile] & KNOWLEDGE_MASK) == MINE) {
+                continue;
+            }
+            byte packed = minefield.getTile(tile / cols, tile % cols);
+            if (PackedBoard.cellStatus(packed) != CellStatus.REVEALED) {
+                continue;
+            }
+            if (PackedBoard.isBomb(packed)) {
+                // only revealed when the game is lost
+                setKnowledge(tile, MINE);
+                continue;
+            }
+
+            setKnowledge(tile, REVEALED);
+            enqueue(tile);
+            enqueueNeighbors(tile);
+
+            if (PackedBoard.neighborCount(packed) == 0) {
+                int row = tile / cols;
+                int col = tile % cols;
+                for (int i = Math.max(0, row - 1); i <= Math.min(rows - 1, row + 1); i++) {
+                    for (int j = Math.max(0, col - 1); j <= Math.min(cols - 1, col + 1); j++) {
+                        learnStack.add(i * cols + j);
+                    }
+                }
+            }
+        }
+    }
+
+    private void propagate() {
+        while (!worklist.isEmpty()) {
+            int tile = worklist.removeLast();
+            known[tile] &= ~QUEUED_BIT;
+            examine(tile);
+        }
+    }
+
+    /* applies single-point, then subset, propagation to a revealed number */
+    private void examine(int tile) {
+        int unknownCount = unknownNeighbors(tile, unknownA);
+        if (unknownCount == 0) {
+            return;
+        }
+        int remaining = remainingMines(tile);
+
+        if (remaining == 0) {
+            deduceAll(unknownA, unknownCount, SAFE);
+            return;
+        } else if (remaining == unknownCount) {
+            deduceAll(unknownA, unknownCount, MINE);
+            return;
+        }
+
+        // any number sharing an unknown neighbor is within two tiles
+        int row = tile / cols;
+        int col = tile % cols;
+        for (int i = Math.max(0, row - 2); i <= Math.min(rows - 1, row + 2); i++) {
+            for (int j = Math.max(0, col - 2); j <= Math.min(cols - 1, col + 2); j++) {
+                int other = i * cols + j;
+                if (other == tile || (known[other] & KNOWLEDGE_MASK) != REVEALED) {
+                    continue;
+                }
+                int otherCount = unknownNeighbors(other, unknownB);
+                int otherRemaining = remainingMines(other);
+
+                if (otherCount > unknownCount && isSubset(unknownA, unknownCount, unknownB, otherCount)) {
+                    deduceDifference(unknownB, otherCount, unknownA, unknownCount, otherRemaining - remaining);
+                } else if (otherCount > 0
+                        && otherCount < unknownCount
+                        && isSubset(unknownB, otherCount, unknownA, unknownCount)
+                        && deduceDifference(unknownA, unknownCount, unknownB, otherCount, remaining - otherRemaining)) {
+                    // this number's unknown neighbors changed, and it was queued again
+                    return;
+                }
+            }
+        }
+    }
+
+    /*
+     * the tiles of outer that are not in inner hold exactly mines bombs; if
+     * that is none or all of them, they are deduced and true is returned
+     */
+    private boolean deduceDifference(int[] outer, int outerCount, int[] inner, int innerCount, int mines) {
+        int differenceCount = outerCount - innerCount;
+        if (mines != 0 && mines != differenceCount) {
+            return false;
+        }
+        byte knowledge = mines == 0 ? SAFE : MINE;
+
+        // deducing only queues constraints, so the scratch arrays stay intact
+        for (int a = 0; a < outerCount; a++) {
+            if (!contains(inner, innerCount, outer[a])) {
+                deduce(outer[a], knowledge);
+            }
+        }
+        return true;
+    }
+
+    private void deduceAll(int[] tiles, int count, byte knowledge) {
+        for (int k = 0; k < count; k++) {
+            deduce(tiles[k], knowledge);
+        }
+    }
+
+    private void deduce(int tile, byte knowledge) {
+        if ((known[tile] & KNOWLEDGE_MASK) != UNKNOWN) {
+            return;
+        }
+        setKnowledge(tile, knowledge);
+        (knowledge == SAFE ? safeTiles : mineTiles).add(tile);
+        enqueueNeighbors(tile);
+    }
+
+    /* fills tiles with the neighbors of a tile that are neither revealed nor deduced, in ascending order */
+    private int unknownNeighbors(int tile, int[] tiles) {
+        int row = tile / cols;
+        int col = tile % cols;
+        int count = 0;
+        for (int i = Math.max(0, row - 1); i <= Math.min(rows - 1, row + 1); i++) {
+            for (int j = Math.max(0, col - 1); j <= Math.min(cols - 1, col + 1); j++) {
+                int neighbor = i * cols + j;
+                if ((known[neighbor] & KNOWLEDGE_MASK) == UNKNOWN) {
+                    tiles[count++] = neighbor;
+                }
+            }
+        }
+        return count;
+    }
+
+    /* bombs around a revealed number that have not been deduced yet */
+    private int remainingMines(int tile) {
+        int row = tile / cols;
+        int col = tile % cols;
+        int mines = 0;
+        for (int i = Math.max(0, row - 1); i <= Math.min(rows - 1, row + 1); i++) {
+            for (int j = Math.max(0, col - 1); j <= Math.min(cols - 1, col + 1); j++) {
+                if ((known[i * cols + j] & KNOWLEDGE_MASK) == MINE) {
+                    mines++;
+                }
+            }
+        }
+        return PackedBoard.neighborCount(minefield.getTile(row, col)) - mines;
+    }
+
+    private static boolean isSubset(int[] inner, int innerCount, int[] outer, int outerCount) {
+        for (int a = 0; a < innerCount; a++) {
+            if (!contains(outer, outerCount, inner[a])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean contains(int[] tiles, int count, int tile) {
+        for (int k = 0; k < count; k++) {
+            if (tiles[k] == tile) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void setKnowledge(int tile, byte knowledge) {
+        known[tile] = (byte) ((known[tile] & ~KNOWLEDGE_MASK) | knowledge);
+    }
+
+    private void enqueue(int tile) {
+        if ((known[tile] & QUEUED_BIT) == 0) {
+            known[tile] |= QUEUED_BIT;
+            worklist.add(tile);
+        }
+    }
+
+    /* queues the revealed numbers around a tile, whose unknown neighbors include it */
+    private void enqueueNeighbors(int tile) {
+        int row = tile / cols;
+        int col = tile % cols;
+        for (int i = Math.max(0, row - 1); i <= Math.min(rows - 1, row + 1); i++) {
+            for (int j = Math.max(0, col - 1); j <= Math.min(cols - 1, col + 1); j++) {
+                int neighbor = i * cols + j;
+                if (neighbor != tile && (known[neighbor] & KNOWLEDGE_MASK) == REVEALED) {
+                    enqueue(neighbor);
+                }
+            }
+        }
+    }
+}
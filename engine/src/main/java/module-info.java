@@ -0,0 +1,7 @@
+module com.somerdin.minesweeper.engine {
+    requires static jdk.incubator.vector;
+
+    exports com.somerdin.minesweeper.game;
+    exports com.somerdin.minesweeper.solver;
+    exports com.somerdin.minesweeper.sim;
+}
@@ -0,0 +1,84 @@
+import com.somerdin.minesweeper.game.BoardType;
+import com.somerdin.minesweeper.game.CellStatus;
+import com.somerdin.minesweeper.game.Difficulty;
+import com.somerdin.minesweeper.game.GameResult;
+import com.somerdin.minesweeper.game.Minefield;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class BoardBackendsTest {
+    private static final int GAMES = 100;
+
+    /* every backend, with and without the opening index, must play the same moves to the same tiles */
+    @Test
+    public void backendsPlayIdentically() {
+        SplittableRandom random = new SplittableRandom(7);
+
+        for (int game = 0; game < GAMES; game++) {
+            Difficulty difficulty = new Difficulty(4 + random.nextInt(40), 4 + random.nextInt(60), 5 + random.nextInt(25));
+            long seed = random.nextLong();
+            boolean deferred = random.nextBoolean();
+
+            List<Minefield> minefields = new ArrayList<>();
+            for (BoardType type : BoardType.values()) {
+                for (boolean indexed : new boolean[] {false, true}) {
+                    Minefield minefield = new Minefield(difficulty);
+                    minefield.setBoardType(type);
+                    minefield.setOpeningIndexed(indexed);
+                    minefield.setPlacementDeferred(deferred);
+                    minefield.startNewGame(difficulty, seed);
+                    minefields.add(minefield);
+                }
+            }
+
+            Minefield reference = minefields.get(0);
+            while (reference.getGameResult() == GameResult.IN_PROGRESS) {
+                int row = random.nextInt(difficulty.rows());
+                int col = random.nextInt(difficulty.cols());
+                int move = random.nextInt(5);
+                for (Minefield minefield : minefields) {
+                    play(minefield, row, col, move);
+                }
+                for (Minefield minefield : minefields) {
+                    assertSameGame(reference, minefield, game + " " + minefield.getBoardType()
+                            + (minefield.isOpeningIndexed() ? " indexed" : ""));
+                }
+            }
+        }
+    }
+
+    /* reveals a hidden tile, chords a revealed one, or one time in five toggles a flag */
+    private static void play(Minefield minefield, int row, int col, int move) {
+        CellStatus status = minefield.getCellStatus(row, col);
+        if (status == CellStatus.REVEALED) {
+            if (minefield.isChordable(row, col)) {
+                minefield.chord(row, col);
+            }
+        } else if (move == 0) {
+            minefield.toggleFlag(row, col);
+        } else if (status == CellStatus.HIDDEN) {
+            minefield.chooseCell(row, col);
+        }
+    }
+
+    private static void assertSameGame(Minefield expected, Minefield actual, String message) {
+        assertEquals(expected.getGameResult(), actual.getGameResult(), message);
+        assertEquals(expected.getBombCount(), actual.getBombCount(), message);
+        assertEquals(expected.getFlaggedCount(), actual.getFlaggedCount(), message);
+        assertEquals(expected.getRevealedCount(), actual.getRevealedCount(), message);
+
+        byte[] expectedRow = new byte[expected.colCount()];
+        byte[] actualRow = new byte[actual.colCount()];
+        for (int i = 0; i < expected.rowCount(); i++) {
+            expected.getTileRow(i, expectedRow);
+            actual.getTileRow(i, actualRow);
+            assertArrayEquals(expectedRow, actualRow, message + " row " + i);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+import com.somerdin.minesweeper.game.BoardCode;
+import com.somerdin.minesweeper.game.Difficulty;
+import com.somerdin.minesweeper.game.Minefield;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class BoardCodeTest {
+
+    @Test
+    public void parseReversesToString() {
+        SplittableRandom random = new SplittableRandom(3);
+        Difficulty[] difficulties = {
+                Difficulty.EASY,
+                Difficulty.HARD,
+                new Difficulty(Difficulty.MIN_ROWS, Difficulty.MAX_COLS, Difficulty.MAX_BOMB_PERCENT),
+                Difficulty.large(2000, 2000, 15)
+        };
+        for (Difficulty difficulty : difficulties) {
+            for (long seed : new long[] {0, 1, -1, Long.MIN_VALUE, Long.MAX_VALUE, random.nextLong()}) {
+                BoardCode code = new BoardCode(difficulty, seed);
+                assertEquals(code, BoardCode.parse(code.toString()));
+                BoardCode played = new BoardCode(difficulty, seed, random.nextBoolean(), random.nextBoolean(),
+                        random.nextInt(difficulty.rows()), random.nextInt(difficulty.cols()));
+                assertEquals(played, BoardCode.parse(played.toString()));
+            }
+        }
+    }
+
+    @Test
+    public void formatsDifficultyAndSeed() {
+        assertEquals("16x30-21-0", new BoardCode(Difficulty.HARD, 0).toString());
+        assertEquals("2000x2000L-15-z", new BoardCode(Difficulty.large(2000, 2000, 15), 35).toString());
+        assertEquals("8x8-16-3w5e11264sgsf", new BoardCode(Difficulty.EASY, -1).toString());
+    }
+
+    @Test
+    public void formatsSettingsAndFirstMove() {
+        assertEquals("16x30-21-0@7.15", new BoardCode(Difficulty.HARD, 0, true, true, 7, 15).toString());
+        assertEquals("16x30-21-0-p", new BoardCode(Difficulty.HARD, 0, false, true, -1, -1).toString());
+        assertEquals("16x30-21-0-p-t@0.29", new BoardCode(Difficulty.HARD, 0, false, false, 0, 29).toString());
+    }
+
+    @Test
+    public void parsesLooseInput() {
+        BoardCode code = new BoardCode(Difficulty.large(2000, 2000, 15), 35);
+        assertEquals(code, BoardCode.parse("  2000X2000l-15-Z \n"));
+    }
+
+    @Test
+    public void rejectsInvalidCodes() {
+        String[] invalid = {
+                "",
+                "16x30-21",
+                "16x30-21-",
+                "16x30-21-!",
+                "16x-21-abc",
+                // a seed beyond 64 bits
+                "16x30-21-zzzzzzzzzzzzzzz",
+                // difficulties out of range
+                "2x30-21-abc",
+                "16x30-0-abc",
+                "100x100-21-abc",
+                "99999999999x30-21-abc",
+                // settings out of order, first moves incomplete or outside the board
+                "16x30-21-abc-t-p",
+                "16x30-21-abc@7",
+                "16x30-21-abc@7.",
+                "16x30-21-abc@16.0",
+                "16x30-21-abc@0.30",
+                "16x30-21-abc@7.15-p"
+        };
+        for (String code : invalid) {
+            assertThrows(IllegalArgumentException.class, () -> BoardCode.parse(code), code);
+        }
+        assertThrows(IllegalArgumentException.class, () -> new BoardCode(Difficulty.HARD, 0, true, true, 7, -1));
+    }
+
+    /* a code started again with the same first move gives the same board */
+    @Test
+    public void codeReproducesBoard() {
+        Minefield original = new Minefield(Difficulty.HARD);
+        original.chooseCell(5, 7);
+        Minefield copy = new Minefield(Difficulty.EASY);
+        BoardCode code = BoardCode.parse(original.getBoardCode().toString());
+        copy.startNewGame(code.difficulty(), code.seed());
+        copy.chooseCell(5, 7);
+
+        byte[] originalRow = new byte[original.colCount()];
+        byte[] copyRow = new byte[copy.colCount()];
+        for (int i = 0; i < original.rowCount(); i++) {
+            original.getTileRow(i, originalRow);
+            copy.getTileRow(i, copyRow);
+            assertArrayEquals(originalRow, copyRow, "row " + i);
+        }
+    }
+
+    /* a code with its first move replays the board whatever the settings of the minefield starting it */
+    @Test
+    public void codeReplaysFirstMoveAndSettings() {
+        for (boolean deferred : new boolean[] {true, false}) {
+            Minefield original = new Minefield(Difficulty.HARD);
+            original.setPlacementDeferred(deferred);
+            original.startNewGame(Difficulty.HARD, 11);
+            original.chooseCell(9, 3);
+            BoardCode code = BoardCode.parse(original.getBoardCode().toString());
+            assertEquals(9, code.firstRow());
+            assertEquals(3, code.firstCol());
+
+            Minefield copy = new Minefield(Difficulty.EASY);
+            copy.setPlacementDeferred(!deferred);
+            copy.startNewGame(code);
+            assertSameBoard(original, copy);
+            assertEquals(code, copy.getBoardCode());
+        }
+
+        // only keeping the first tile free gives another board, which the code replays too
+        BoardCode tileOnly = new BoardCode(Difficulty.HARD, 11, true, false, 9, 3);
+        Minefield first = new Minefield(Difficulty.HARD);
+        first.startNewGame(tileOnly);
+        Minefield second = new Minefield(Difficulty.HARD);
+        second.startNewGame(BoardCode.parse(tileOnly.toString()));
+        assertSameBoard(first, second);
+    }
+
+    private static void assertSameBoard(Minefield expected, Minefield actual) {
+        byte[] expectedRow = new byte[expected.colCount()];
+        byte[] actualRow = new byte[actual.colCount()];
+        for (int i = 0; i < expected.rowCount(); i++) {
+            expected.getTileRow(i, expectedRow);
+            actual.getTileRow(i, actualRow);
+            assertArrayEquals(expectedRow, actualRow, "row " + i);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+import com.somerdin.minesweeper.game.BoardType;
+import com.somerdin.minesweeper.game.CellStatus;
+import com.somerdin.minesweeper.game.Difficulty;
+import com.somerdin.minesweeper.game.GameResult;
+import com.somerdin.minesweeper.game.Minefield;
+import com.somerdin.minesweeper.game.MinefieldListener;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DirtyBoundsTest {
+    private static final int GAMES = 100;
+
+    /* the bounds listeners are told of must cover every tile a move changed */
+    @Test
+    public void changedTilesAreInsideReportedBounds() {
+        SplittableRandom random = new SplittableRandom(1);
+        Bounds bounds = new Bounds();
+        long moves = 0;
+
+        for (BoardType type : BoardType.values()) {
+            for (boolean indexed : new boolean[] {false, true}) {
+                for (int game = 0; game < GAMES; game++) {
+                    Difficulty difficulty = new Difficulty(4 + random.nextInt(40), 4 + random.nextInt(40), 5 + random.nextInt(20));
+                    Minefield minefield = new Minefield(difficulty);
+                    minefield.setBoardType(type);
+                    minefield.setOpeningIndexed(indexed);
+                    minefield.setPlacementDeferred(random.nextBoolean());
+                    minefield.addListener(bounds);
+                    minefield.startNewGame(difficulty, random.nextLong());
+
+                    while (minefield.getGameResult() == GameResult.IN_PROGRESS) {
+                        int row = random.nextInt(difficulty.rows());
+                        int col = random.nextInt(difficulty.cols());
+                        CellStatus status = minefield.getCellStatus(row, col);
+                        byte[][] before = tiles(minefield);
+                        bounds.clear();
+                        if (status == CellStatus.REVEALED) {
+                            if (!minefield.isChordable(row, col)) {
+                                continue;
+                            }
+                            minefield.chord(row, col);
+                        } else if (random.nextInt(5) == 0) {
+                            minefield.toggleFlag(row, col);
+                        } else if (status == CellStatus.HIDDEN) {
+                            minefield.chooseCell(row, col);
+                        } else {
+                            continue;
+                        }
+                        moves++;
+
+                        byte[][] after = tiles(minefield);
+                        for (int i = 0; i < difficulty.rows(); i++) {
+                            for (int j = 0; j < difficulty.cols(); j++) {
+                                if (before[i][j] != after[i][j]) {
+                                    assertTrue(bounds.contains(i, j), type + (indexed ? " indexed" : "")
+                                            + " game " + game + " move " + row + "," + col
+                                            + " changed " + i + "," + j + " outside " + bounds);
+                                }
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        assertTrue(moves > GAMES, "too few moves to test: " + moves);
+    }
+
+    private static byte[][] tiles(Minefield minefield) {
+        byte[][] tiles = new byte[minefield.rowCount()][minefield.colCount()];
+        for (int i = 0; i < tiles.length; i++) {
+            minefield.getTileRow(i, tiles[i]);
+        }
+        return tiles;
+    }
+
+    /* bounding box of every change reported since it was cleared */
+    private static final class Bounds implements MinefieldListener {
+        private int top;
+        private int left;
+        private int bottom;
+        private int right;
+
+        Bounds() {
+            clear();
+        }
+
+        void clear() {
+            top = Integer.MAX_VALUE;
+            left = Integer.MAX_VALUE;
+            bottom = Integer.MIN_VALUE;
+            right = Integer.MIN_VALUE;
+        }
+
+        boolean contains(int row, int col) {
+            return row >= top && row <= bottom && col >= left && col <= right;
+        }
+
+        @Override
+        public void tilesChanged(Minefield minefield, int top, int left, int bottom, int right) {
+            this.top = Math.min(this.top, top);
+            this.left = Math.min(this.left, left);
+            this.bottom = Math.max(this.bottom, bottom);
+            this.right = Math.max(this.right, right);
+        }
+
+        @Override
+        public String toString() {
+            return top + "," + left + " to " + bottom + "," + right;
+        }
+    }
+}
@@ -0,0 +1,114 @@
+import com.somerdin.minesweeper.game.BoardCode;
+import com.somerdin.minesweeper.game.CellStatus;
+import com.somerdin.minesweeper.game.Difficulty;
+import com.somerdin.minesweeper.game.GameResult;
+import com.somerdin.minesweeper.game.Minefield;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MinefieldTest {
+    private static Minefield load(String resource) throws IOException, URISyntaxException {
+        return Minefield.MinefieldSerializer.fromFile(new File(MinefieldTest.class.getResource(resource).toURI()));
+    }
+
+    @Test
+    public void validate() throws IOException, URISyntaxException {
+        Minefield testField = load("/test_minefield.txt");
+        Minefield testField2 = load("/test_minefield_2.txt");
+
+        testField.chooseCell(2, 2);
+        testField2.chooseCell(2, 2);
+
+        assertEquals(CellStatus.REVEALED, testField.getCellStatus(2, 2));
+        assertEquals(CellStatus.REVEALED, testField2.getCellStatus(2, 2));
+        assertNotEquals(GameResult.GAME_LOST, testField.getGameResult());
+        assertNotEquals(GameResult.GAME_LOST, testField2.getGameResult());
+    }
+
+    /* the first move clears its neighbors by moving their bombs elsewhere */
+    @Test
+    public void test() throws IOException, URISyntaxException {
+        Minefield testField3 = load("/test_minefield_3.txt");
+        int bombs = testField3.getBombCount();
+
+        testField3.chooseCell(2, 1);
+
+        assertEquals(bombs, testField3.getBombCount());
+        for (int i = 1; i <= 3; i++) {
+            for (int j = 0; j <= 2; j++) {
+                assertFalse(testField3.isBomb(i, j), "bomb left next to first move at " + i + "," + j);
+            }
+        }
+        assertEquals(0, testField3.neighborCount(2, 1));
+        assertEquals(CellStatus.REVEALED, testField3.getCellStatus(2, 1));
+    }
+
+    /* a loaded game has no stored difficulty, so one is rebuilt from its tiles */
+    @Test
+    public void loadedDifficulty() throws IOException, URISyntaxException {
+        Minefield saved = new Minefield(Difficulty.MEDIUM);
+        saved.chooseCell(5, 5);
+        File file = File.createTempFile("minefield", ".txt");
+        file.deleteOnExit();
+        Minefield.MinefieldSerializer.writeToFile(file, saved);
+
+        Difficulty difficulty = Minefield.MinefieldSerializer.fromFile(file).getDifficulty();
+
+        assertEquals(Difficulty.MEDIUM.rows(), difficulty.rows());
+        assertEquals(Difficulty.MEDIUM.cols(), difficulty.cols());
+        assertEquals(Math.round(100.0 * saved.getBombCount() / (16 * 16)), difficulty.bombPercent());
+        assertFalse(difficulty.large());
+
+        // the test files are smaller than any board a difficulty allows
+        for (String resource : new String[] {"/test_minefield.txt", "/test_minefield_2.txt", "/test_minefield_3.txt"}) {
+            difficulty = load(resource).getDifficulty();
+            assertTrue(difficulty.bombPercent() >= Difficulty.MIN_BOMB_PERCENT, resource);
+            assertTrue(difficulty.bombPercent() <= Difficulty.MAX_BOMB_PERCENT, resource);
+        }
+    }
+
+    /* saving before the first move writes a full board but leaves the game to place its own bombs */
+    @Test
+    public void saveBeforeFirstMove() throws IOException {
+        Minefield saved = new Minefield(Difficulty.HARD);
+        saved.startNewGame(Difficulty.HARD, 7);
+        saved.toggleFlag(0, 0);
+        Minefield unsaved = new Minefield(Difficulty.HARD);
+        unsaved.startNewGame(Difficulty.HARD, 7);
+        unsaved.toggleFlag(0, 0);
+
+        File file = File.createTempFile("minefield", ".txt");
+        file.deleteOnExit();
+        Minefield.MinefieldSerializer.writeToFile(file, saved);
+        Minefield loaded = Minefield.MinefieldSerializer.fromFile(file);
+        assertEquals(saved.getBombCount(), loaded.getBombCount());
+        assertEquals(CellStatus.FLAGGED, loaded.getCellStatus(0, 0));
+
+        assertTrue(saved.getFirstMove());
+        saved.chooseCell(8, 15);
+        unsaved.chooseCell(8, 15);
+        assertEquals(0, saved.neighborCount(8, 15));
+        byte[] savedRow = new byte[saved.colCount()];
+        byte[] unsavedRow = new byte[unsaved.colCount()];
+        for (int i = 0; i < saved.rowCount(); i++) {
+            saved.getTileRow(i, savedRow);
+            unsaved.getTileRow(i, unsavedRow);
+            assertArrayEquals(unsavedRow, savedRow, "row " + i);
+        }
+    }
+
+    /* only a board generated from a seed has a code that starts it again */
+    @Test
+    public void boardCode() throws IOException, URISyntaxException {
+        Minefield generated = new Minefield(Difficulty.EASY);
+        generated.startNewGame(Difficulty.EASY, 42);
+
+        assertEquals(new BoardCode(Difficulty.EASY, 42), generated.getBoardCode());
+        assertNull(load("/test_minefield.txt").getBoardCode());
+    }
+}
@@ -0,0 +1,56 @@
+import com.somerdin.minesweeper.game.Board;
+import com.somerdin.minesweeper.game.BoardGenerator;
+import com.somerdin.minesweeper.game.BoardType;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class NeighborCountsTest {
+    private static final int BOARDS = 200;
+
+    @Test
+    public void scalarMatchesPerBombCounts() {
+        compareWithPerBombCounts(false);
+    }
+
+    @Test
+    public void vectorMatchesPerBombCounts() {
+        assumeTrue(BoardGenerator.isVectorAvailable(), "jdk.incubator.vector not added at launch");
+        compareWithPerBombCounts(true);
+    }
+
+    /* counts from a whole-board pass must match adding each bomb to its 3x3 block one at a time */
+    private void compareWithPerBombCounts(boolean vectorized) {
+        SplittableRandom random = new SplittableRandom(42);
+
+        for (int k = 0; k < BOARDS; k++) {
+            // odd sizes so rows do not line up with the vector length
+            int rows = 1 + random.nextInt(70);
+            int cols = 1 + random.nextInt(150);
+            int percent = random.nextInt(101);
+
+            for (BoardType type : BoardType.values()) {
+                Board board = type.create(rows, cols);
+                Board expected = type.create(rows, cols);
+                for (int i = 0; i < rows; i++) {
+                    for (int j = 0; j < cols; j++) {
+                        if (random.nextInt(100) < percent) {
+                            board.setBomb(board.index(i, j), true);
+                            expected.setBomb(expected.index(i, j), true);
+                            expected.adjustNeighborCounts(i, j, 1);
+                        }
+                    }
+                }
+
+                BoardGenerator.computeNeighborCounts(board, vectorized);
+                for (int index = 0; index < board.size(); index++) {
+                    assertEquals(expected.get(index), board.get(index),
+                            type + " " + rows + "x" + cols + " tile " + index);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+import com.somerdin.minesweeper.game.BoardType;
+import com.somerdin.minesweeper.game.CellStatus;
+import com.somerdin.minesweeper.game.Difficulty;
+import com.somerdin.minesweeper.game.GameResult;
+import com.somerdin.minesweeper.game.Minefield;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class OpeningIndexTest {
+    private static final int GAMES = 100;
+
+    /* revealing through the opening index must reveal exactly what a flood fill from the move would */
+    @Test
+    public void indexedRevealsMatchFloodFill() {
+        SplittableRandom random = new SplittableRandom(11);
+
+        for (int game = 0; game < GAMES; game++) {
+            Difficulty difficulty = new Difficulty(4 + random.nextInt(50), 4 + random.nextInt(50), 5 + random.nextInt(15));
+            for (BoardType type : BoardType.values()) {
+                Minefield minefield = new Minefield(difficulty);
+                minefield.setBoardType(type);
+                minefield.setOpeningIndexed(true);
+                minefield.startNewGame(difficulty, random.nextLong());
+
+                // the first move places the bombs, so its fill can only be checked afterwards
+                minefield.chooseCell(random.nextInt(difficulty.rows()), random.nextInt(difficulty.cols()));
+                while (minefield.getGameResult() == GameResult.IN_PROGRESS) {
+                    int row = random.nextInt(difficulty.rows());
+                    int col = random.nextInt(difficulty.cols());
+                    if (minefield.getCellStatus(row, col) != CellStatus.HIDDEN || minefield.isBomb(row, col)) {
+                        continue;
+                    }
+                    boolean[][] expected = floodFill(minefield, row, col);
+                    minefield.chooseCell(row, col);
+                    for (int i = 0; i < difficulty.rows(); i++) {
+                        for (int j = 0; j < difficulty.cols(); j++) {
+                            assertEquals(expected[i][j], minefield.getCellStatus(i, j) == CellStatus.REVEALED,
+                                    game + " " + type + " move " + row + "," + col + " tile " + i + "," + j);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /* tiles revealed after revealing a safe tile: it, and the openings it spreads through from zeros */
+    private static boolean[][] floodFill(Minefield minefield, int row, int col) {
+        int rows = minefield.rowCount();
+        int cols = minefield.colCount();
+        boolean[][] revealed = new boolean[rows][cols];
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                revealed[i][j] = minefield.getCellStatus(i, j) == CellStatus.REVEALED;
+            }
+        }
+
+        ArrayDeque<int[]> queue = new ArrayDeque<>();
+        revealed[row][col] = true;
+        queue.add(new int[] {row, col});
+        while (!queue.isEmpty()) {
+            int[] tile = queue.poll();
+            if (minefield.neighborCount(tile[0], tile[1]) != 0) {
+                continue;
+            }
+            for (int i = Math.max(0, tile[0] - 1); i <= Math.min(rows - 1, tile[0] + 1); i++) {
+                for (int j = Math.max(0, tile[1] - 1); j <= Math.min(cols - 1, tile[1] + 1); j++) {
+                    if (!revealed[i][j] && minefield.getCellStatus(i, j) == CellStatus.HIDDEN) {
+                        revealed[i][j] = true;
+                        queue.add(new int[] {i, j});
+                    }
+                }
+            }
+        }
+        return revealed;
+    }
+}
@@ -0,0 +1,133 @@
+import com.somerdin.minesweeper.game.CellStatus;
+import com.somerdin.minesweeper.game.Difficulty;
+import com.somerdin.minesweeper.game.GameResult;
+import com.somerdin.minesweeper.game.Minefield;
+import com.somerdin.minesweeper.solver.Probabilities;
+import com.somerdin.minesweeper.solver.ProbabilityCalculator;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProbabilityCalculatorTest {
+    private static final int GAMES = 60;
+    // most hidden tiles a position may have to be enumerated by brute force
+    private static final int MAX_HIDDEN = 18;
+    private static final double TOLERANCE = 1e-9;
+
+    /* exact probabilities must equal the share of all consistent bomb layouts with a bomb on each tile */
+    @Test
+    public void exactProbabilitiesMatchBruteForce() {
+        SplittableRandom random = new SplittableRandom(13);
+        ProbabilityCalculator calculator = new ProbabilityCalculator();
+        int positions = 0;
+
+        for (int game = 0; game < GAMES; game++) {
+            Difficulty difficulty = new Difficulty(4 + random.nextInt(3), 4 + random.nextInt(4), 15 + random.nextInt(15));
+            Minefield minefield = new Minefield(difficulty);
+            minefield.startNewGame(difficulty, random.nextLong());
+            minefield.chooseCell(random.nextInt(difficulty.rows()), random.nextInt(difficulty.cols()));
+
+            while (minefield.getGameResult() == GameResult.IN_PROGRESS) {
+                if (hiddenCount(minefield) <= MAX_HIDDEN) {
+                    Probabilities probabilities = calculator.calculate(minefield, 10_000);
+                    assertTrue(probabilities.isExact(), "game " + game);
+                    assertMatchesBruteForce(minefield, probabilities, "game " + game);
+                    positions++;
+                }
+                revealRandomSafeTile(minefield, random);
+            }
+        }
+        assertTrue(positions > GAMES, "too few positions to test: " + positions);
+    }
+
+    private static void assertMatchesBruteForce(Minefield minefield, Probabilities probabilities, String message) {
+        int rows = minefield.rowCount();
+        int cols = minefield.colCount();
+        int[] hidden = new int[hiddenCount(minefield)];
+        int n = 0;
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (minefield.getCellStatus(i, j) != CellStatus.REVEALED) {
+                    hidden[n++] = i * cols + j;
+                }
+            }
+        }
+
+        long[] bombCounts = new long[hidden.length];
+        long layouts = enumerate(minefield, hidden, 0, minefield.getBombCount(), new boolean[rows * cols], bombCounts);
+        assertTrue(layouts > 0, message);
+        for (int k = 0; k < hidden.length; k++) {
+            int row = hidden[k] / cols;
+            int col = hidden[k] % cols;
+            assertEquals((double) bombCounts[k] / layouts, probabilities.probability(row, col), TOLERANCE,
+                    message + " tile " + row + "," + col);
+        }
+    }
+
+    /*
+     * counts layouts placing the remaining bombs on hidden tiles from index k
+     * on that agree with every revealed number, adding each layout to the
+     * counts of the tiles it puts a bomb on
+     */
+    private static long enumerate(Minefield minefield, int[] hidden, int k, int remaining, boolean[] bomb, long[] bombCounts) {
+        if (remaining == 0) {
+            if (!consistent(minefield, bomb)) {
+                return 0;
+            }
+            for (int t = 0; t < hidden.length; t++) {
+                if (bomb[hidden[t]]) {
+                    bombCounts[t]++;
+                }
+            }
+            return 1;
+        }
+        if (hidden.length - k < remaining) {
+            return 0;
+        }
+        bomb[hidden[k]] = true;
+        long layouts = enumerate(minefield, hidden, k + 1, remaining - 1, bomb, bombCounts);
+        bomb[hidden[k]] = false;
+        return layouts + enumerate(minefield, hidden, k + 1, remaining, bomb, bombCounts);
+    }
+
+    private static boolean consistent(Minefield minefield, boolean[] bomb) {
+        int rows = minefield.rowCount();
+        int cols = minefield.colCount();
+        for (int i = 0; i < rows; i++) {
+            for (int j = 0; j < cols; j++) {
+                if (minefield.getCellStatus(i, j) != CellStatus.REVEALED) {
+                    continue;
+                }
+                int around = 0;
+                for (int r = Math.max(0, i - 1); r <= Math.min(rows - 1, i + 1); r++) {
+                    for (int c = Math.max(0, j - 1); c <= Math.min(cols - 1, j + 1); c++) {
+                        if (bomb[r * cols + c]) {
+                            around++;
+                        }
+                    }
+                }
+                if (around != minefield.neighborCount(i, j)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static int hiddenCount(Minefield minefield) {
+        return minefield.rowCount() * minefield.colCount() - minefield.getRevealedCount();
+    }
+
+    private static void revealRandomSafeTile(Minefield minefield, SplittableRandom random) {
+        int row;
+        int col;
+        do {
+            row = random.nextInt(minefield.rowCount());
+            col = random.nextInt(minefield.colCount());
+        } while (minefield.getCellStatus(row, col) == CellStatus.REVEALED || minefield.isBomb(row, col));
+        minefield.chooseCell(row, col);
+    }
+}
@@ -0,0 +1,62 @@
+import com.somerdin.minesweeper.game.CellStatus;
+import com.somerdin.minesweeper.game.Difficulty;
+import com.somerdin.minesweeper.game.GameResult;
+import com.somerdin.minesweeper.game.Minefield;
+import com.somerdin.minesweeper.solver.Hint;
+import com.somerdin.minesweeper.solver.Solver;
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SolverTest {
+    private static final int GAMES = 300;
+
+    /* every hint must be right: a safe hint is never a bomb and a mine hint always is */
+    @Test
+    public void hintsAreSound() {
+        SplittableRandom random = new SplittableRandom(5);
+        Difficulty[] difficulties = {Difficulty.EASY, Difficulty.MEDIUM, Difficulty.HARD};
+        long hints = 0;
+
+        for (int game = 0; game < GAMES; game++) {
+            Difficulty difficulty = difficulties[game % difficulties.length];
+            Minefield minefield = new Minefield(difficulty);
+            minefield.startNewGame(difficulty, random.nextLong());
+            Solver solver = new Solver(minefield);
+
+            int row = random.nextInt(difficulty.rows());
+            int col = random.nextInt(difficulty.cols());
+            minefield.chooseCell(row, col);
+            solver.update(row, col);
+            while (minefield.getGameResult() == GameResult.IN_PROGRESS) {
+                Hint hint = solver.hint();
+                if (hint != null) {
+                    hints++;
+                    assertEquals(hint.mine(), minefield.isBomb(hint.row(), hint.col()),
+                            game + " hint " + hint);
+                    assertNotEquals(CellStatus.REVEALED, minefield.getCellStatus(hint.row(), hint.col()));
+                    if (hint.mine()) {
+                        minefield.toggleFlag(hint.row(), hint.col());
+                    } else {
+                        minefield.chooseCell(hint.row(), hint.col());
+                        solver.update(hint.row(), hint.col());
+                    }
+                    continue;
+                }
+
+                // stuck, so guess a hidden tile as a player would
+                do {
+                    row = random.nextInt(difficulty.rows());
+                    col = random.nextInt(difficulty.cols());
+                } while (minefield.getCellStatus(row, col) != CellStatus.HIDDEN);
+                minefield.chooseCell(row, col);
+                solver.update(row, col);
+            }
+        }
+        assertTrue(hints > GAMES, "too few hints to test: " + hints);
+    }
+}
@@ -28,6 +28,7 @@ public class Application extends javafx.application.Application {
     public static final String DARK_MODE_PREF = "dark_mode";
     public static final String DIFFICULTY_PREF = "difficulty";
     public static final String FULL_SCREEN_PREF = "full_screen";
+    public static final String NO_GUESS_PREF = "no_guess";
 
     public static final String EASY_DIFFICULTY_VALUE = "EASY";
     public static final String MEDIUM_DIFFICULTY_VALUE = "MEDIUM";
@@ -44,15 +45,10 @@ public class Application extends javafx.application.Application {
         File savedGame = new File(SAVED_GAME_PATH);
         savedGame.createNewFile();
 
-        String difficultyPref = PREFERENCES.get(DIFFICULTY_PREF, Difficulty.EASY.toString());
+        Difficulty preset = presetDifficulty(PREFERENCES.get(DIFFICULTY_PREF, EASY_DIFFICULTY_VALUE));
         Minefield minefield;
-        if (difficultyPref.equals(Difficulty.EASY.toString())) {
-            System.out.println("EASY");
-            minefield = new Minefield(Difficulty.EASY);
-        } else if (difficultyPref.equals(Difficulty.MEDIUM.toString())) {
-            minefield = new Minefield(Difficulty.MEDIUM);
-        } else if (difficultyPref.equals(Difficulty.HARD.toString())) {
-            minefield = new Minefield(Difficulty.HARD);
+        if (preset != null) {
+            minefield = new Minefield(preset);
         } else {
             System.out.println("FROM SAVED GAME");
             if (savedGame.canRead()) {
@@ -83,6 +79,37 @@ public class Application extends javafx.application.Application {
         stage.show();
     }
 
+    /* preference value of a difficulty: the key of a preset, or CUSTOM_DIFFICULTY_VALUE for any other */
+    public static String difficultyPrefValue(Difficulty difficulty) {
+        if (difficulty.equals(Difficulty.EASY)) {
+            return EASY_DIFFICULTY_VALUE;
+        } else if (difficulty.equals(Difficulty.MEDIUM)) {
+            return MEDIUM_DIFFICULTY_VALUE;
+        } else if (difficulty.equals(Difficulty.HARD)) {
+            return HARD_DIFFICULTY_VALUE;
+        }
+        return CUSTOM_DIFFICULTY_VALUE;
+    }
+
+    /*
+     * preset difficulty named by a preference value, or null for a custom
+     * game; earlier versions saved presets as Difficulty.toString(), with or
+     * without the large component, and those values are still recognized
+     */
+    public static Difficulty presetDifficulty(String prefValue) {
+        for (Difficulty preset : new Difficulty[] {Difficulty.EASY, Difficulty.MEDIUM, Difficulty.HARD}) {
+            String legacyValue = "Difficulty[rows=" + preset.rows()
+                    + ", cols=" + preset.cols()
+                    + ", bombPercent=" + preset.bombPercent();
+            if (prefValue.equals(difficultyPrefValue(preset))
+                    || prefValue.equals(legacyValue + "]")
+                    || prefValue.equals(legacyValue + ", large=false]")) {
+                return preset;
+            }
+        }
+        return null;
+    }
+
     public static void main(String[] args) {
         javafx.application.Application.setUserAgentStylesheet(GameWindow.LIGHT_MODE_URL);
         javafx.application.Application.launch();
@@ -0,0 +1,209 @@
+package com.somerdin.minesweeper.gui;
+
+import com.github.weisj.jsvg.SVGDocument;
+import com.github.weisj.jsvg.parser.SVGLoader;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.value.ObservableNumberValue;
+
+import java.net.URL;
+
+public class BoardAppearance {
+    // memory budget for rasterized glyphs in bytes, set with -Dminesweeper.rasterCacheBudget=<bytes>
+    private static final long RASTER_CACHE_BUDGET = Long.getLong("minesweeper.rasterCacheBudget", 32L * 1024 * 1024);
+
+    public static enum Theme {
+        DEFAULT(
+                Theme.class.getResource("/classic/1mines.svg"),
+                Theme.class.getResource("/classic/2mines.svg"),
+                Theme.class.getResource("/classic/3mines.svg"),
+                Theme.class.getResource("/classic/4mines.svg"),
+                Theme.class.getResource("/classic/5mines.svg"),
+                Theme.class.getResource("/classic/6mines.svg"),
+                Theme.class.getResource("/classic/7mines.svg"),
+                Theme.class.getResource("/classic/8mines.svg"),
+                Theme.class.getResource("/classic/exploded.svg"),
+                Theme.class.getResource("/classic/flag.svg"),
+                Theme.class.getResource("/classic/maybe.svg"),
+                Theme.class.getResource("/classic/mine.svg"),
+                Theme.class.getResource("/classic/incorrect.svg"),
+                0.75
+        );
+
+        private final URL url1;
+        private final URL url2;
+        private final URL url3;
+        private final URL url4;
+        private final URL url5;
+        private final URL url6;
+        private final URL url7;
+        private final URL url8;
+        private final URL urlExploded;
+        private final URL urlFlag;
+        private final URL urlMaybe;
+        private final URL urlMine;
+        private final URL urlIncorrect;
+
+        private final double scaleFactor;
+
+        private Theme(URL url1,
+                      URL url2,
+                      URL url3,
+                      URL url4,
+                      URL url5,
+                      URL url6,
+                      URL url7,
+                      URL url8,
+                      URL urlExploded,
+                      URL urlFlag,
+                      URL urlMaybe,
+                      URL urlMine,
+                      URL urlIncorrect,
+                      double scaleFactor) {
+            this.url1 = url1;
+            this.url2 = url2;
+            this.url3 = url3;
+            this.url4 = url4;
+            this.url5 = url5;
+            this.url6 = url6;
+            this.url7 = url7;
+            this.url8 = url8;
+            this.urlExploded = urlExploded;
+            this.urlFlag = urlFlag;
+            this.urlMaybe = urlMaybe;
+            this.urlMine = urlMine;
+            this.urlIncorrect = urlIncorrect;
+            this.scaleFactor = scaleFactor;
+        }
+
+        public URL getURL(Tile tile) {
+            return switch (tile) {
+                case ONE -> url1;
+                case TWO -> url2;
+                case THREE -> url3;
+                case FOUR -> url4;
+                case FIVE -> url5;
+                case SIX -> url6;
+                case SEVEN -> url7;
+                case EIGHT -> url8;
+                case EXPLODED -> urlExploded;
+                case FLAG -> urlFlag;
+                case MAYBE -> urlMaybe;
+                case MINE -> urlMine;
+                case INCORRECT -> urlIncorrect;
+            };
+        }
+
+        public double getScaleFactor() {
+            return scaleFactor;
+        }
+    }
+
+    public static enum Tile {
+        ONE,
+        TWO,
+        THREE,
+        FOUR,
+        FIVE,
+        SIX,
+        SEVEN,
+        EIGHT,
+        EXPLODED,
+        FLAG,
+        MAYBE,
+        MINE,
+        INCORRECT
+    }
+
+    private Theme currentTheme;
+
+    // glyph of each tile in the current theme, by tile ordinal; replaced rather than
+    // modified, since atlases may still be rendering the old theme's glyphs
+    private SVGDocument[] glyphs;
+    private Runnable onAtlasReady = () -> { };
+    private final RasterCache rasterCache = new RasterCache(RASTER_CACHE_BUDGET, () -> onAtlasReady.run());
+    // atlas last returned at its requested size, with the theme and size in pixels it was requested for, or null
+    private TileAtlas atlas;
+    private Theme atlasTheme;
+    private int atlasRequestedPixels;
+
+    private final ObservableNumberValue size;
+    private final ObservableNumberValue scale;
+    private final double scaleFactor;
+
+    public BoardAppearance(Theme theme,
+                           DoubleProperty boundDimension,
+                           DoubleProperty boundScale,
+                           double scale) {
+        if (scale > 1 || scale <= 0) {
+            throw new IllegalArgumentException("Scale factor must be between 0 and 1");
+        }
+        this.currentTheme = theme;
+        this.size = boundDimension;
+        this.scale = boundScale;
+        this.scaleFactor = scale;
+        loadGlyphs(theme);
+    }
+
+    /* size of a glyph on the canvas, which changes with the tile length and zoom */
+    public double getGlyphSize() {
+        return size.doubleValue() * scale.doubleValue() * scaleFactor;
+    }
+
+    /*
+     * every glyph rasterized for the current glyph size on a screen with the
+     * given number of pixels per canvas pixel. While that atlas is rasterized
+     * in the background, the nearest one at another size stands in, or null
+     * if there is none yet; the callback set with setOnAtlasReady is run when
+     * it is ready. Once it is, the same atlas is returned without a cache
+     * lookup until the size or theme changes.
+     */
+    TileAtlas getAtlas(double outputScale) {
+        int pixels = (int) Math.ceil(getGlyphSize() * outputScale);
+        if (atlas != null && atlasTheme == currentTheme && atlasRequestedPixels == pixels) {
+            return atlas;
+        }
+        TileAtlas found = rasterCache.get(currentTheme, glyphs, pixels);
+        // stand-ins are looked up again on every call, so the sharp atlas replaces them when ready
+        if (found != null && found.glyphSize() == RasterCache.bucket(pixels)) {
+            atlas = found;
+            atlasTheme = currentTheme;
+            atlasRequestedPixels = pixels;
+        }
+        return found;
+    }
+
+    /* sets what runs, on the FX application thread, when an atlas requested by getAtlas is ready to draw */
+    public void setOnAtlasReady(Runnable onAtlasReady) {
+        this.onAtlasReady = onAtlasReady;
+    }
+
+    public static Tile getNumberTile(int number) {
+        return switch (number) {
+            case 1 -> Tile.ONE;
+            case 2 -> Tile.TWO;
+            case 3 -> Tile.THREE;
+            case 4 -> Tile.FOUR;
+            case 5 -> Tile.FIVE;
+            case 6 -> Tile.SIX;
+            case 7 -> Tile.SEVEN;
+            case 8 -> Tile.EIGHT;
+            default -> throw new IllegalArgumentException("Invalid number");
+        };
+    }
+
+    public void setTheme(Theme theme) {
+        if (theme != currentTheme) {
+            currentTheme = theme;
+            loadGlyphs(theme);
+        }
+    }
+
+    private void loadGlyphs(Theme theme) {
+        SVGLoader loader = new SVGLoader();
+        SVGDocument[] loaded = new SVGDocument[Tile.values().length];
+        for (Tile tile : Tile.values()) {
+            loaded[tile.ordinal()] = loader.load(theme.getURL(tile));
+        }
+        glyphs = loaded;
+    }
+}
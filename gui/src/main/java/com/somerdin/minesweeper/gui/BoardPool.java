@@ -0,0 +1,190 @@
+package com.somerdin.minesweeper.gui;
+
+import com.somerdin.minesweeper.game.Difficulty;
+import com.somerdin.minesweeper.game.Minefield;
+import com.somerdin.minesweeper.solver.LatencyHistogram;
+import com.somerdin.minesweeper.solver.NoGuessBoard;
+import com.somerdin.minesweeper.solver.NoGuessGenerator;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Boards prepared ahead of time by a background daemon thread, so starting
+ * a new game only swaps a finished board into the {@link Minefield}.
+ * Bombs of these boards are placed and indexed while preparing them rather
+ * than on the first move, so the first move on even a very large board only
+ * moves the few bombs around it.
+ * <p>
+ * Boards are kept for the few most recently wanted difficulties, each with
+ * or without no-guess generation, and each of these is refilled as soon as
+ * a board is taken. Prepared boards count against a memory budget by their
+ * estimated size, so the pool never holds more than a few large boards,
+ * and boards too large for the budget are never prepared at all.
+ * <p>
+ * No-guess boards are searched for on a small pool of the pool's own, so
+ * preparing them leaves most cores to the game. A kind whose searches keep
+ * failing is given up on until it is wanted again.
+ */
+final class BoardPool {
+    private static final int BOARDS_PER_KIND = 2;
+    private static final int MAX_KINDS = 8;
+    // memory budget for prepared boards in bytes, set with -Dminesweeper.boardPoolBudget=<bytes>
+    private static final long MEMORY_BUDGET = Long.getLong("minesweeper.boardPoolBudget", 64L * 1024 * 1024);
+    // threads searching for a no-guess board, counting the preparing thread itself
+    private static final int NO_GUESS_PARALLELISM = Math.max(1, Runtime.getRuntime().availableProcessors() / 4);
+    // searches for a no-guess board before a kind is given up on
+    private static final int NO_GUESS_ATTEMPTS = 3;
+
+    private static final System.Logger LOGGER = System.getLogger(BoardPool.class.getName());
+
+    /* a difficulty with or without no-guess generation */
+    private record Kind(Difficulty difficulty, boolean noGuess) {
+
+    }
+
+    private final Minefield template;
+    private final ForkJoinPool noGuessPool = new ForkJoinPool(NO_GUESS_PARALLELISM);
+    private final NoGuessGenerator noGuessGenerator = new NoGuessGenerator(noGuessPool);
+    // wanted kinds in order of last use, oldest first, with their prepared boards
+    private final Map<Kind, ArrayDeque<Minefield>> boards = new LinkedHashMap<>(16, 0.75f, true);
+    // estimated bytes of prepared boards
+    private long usedBytes;
+    // read by no-guess searches to stop early
+    private volatile boolean closed;
+
+    /* prepares boards with the settings of a template minefield, which is only read */
+    BoardPool(Minefield template) {
+        this.template = template;
+        Thread thread = new Thread(this::fill, "board-pool");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    /* keeps boards of a kind ready from now on */
+    synchronized void want(Difficulty difficulty, boolean noGuess) {
+        if (closed) {
+            return;
+        }
+        boards.computeIfAbsent(new Kind(difficulty, noGuess), kind -> new ArrayDeque<>());
+        dropOldestKinds();
+        notifyAll();
+    }
+
+    /*
+     * a prepared board of a kind, whose game has already been started, or
+     * null if none is ready; boards of the kind are prepared from now on.
+     * A no-guess board already has its start tile revealed.
+     */
+    synchronized Minefield take(Difficulty difficulty, boolean noGuess) {
+        want(difficulty, noGuess);
+        ArrayDeque<Minefield> ready = boards.get(new Kind(difficulty, noGuess));
+        Minefield board = ready == null ? null : ready.pollFirst();
+        if (board != null) {
+            usedBytes -= difficulty.estimatedBytes();
+            notifyAll();
+        }
+        return board;
+    }
+
+    /* stops preparing boards and drops every prepared board */
+    synchronized void close() {
+        closed = true;
+        boards.clear();
+        usedBytes = 0;
+        noGuessPool.shutdown();
+        notifyAll();
+    }
+
+    /* how long each search for a no-guess board to prepare took */
+    LatencyHistogram noGuessLatencies() {
+        return noGuessGenerator.latencies();
+    }
+
+    private void fill() {
+        while (true) {
+            Kind kind = null;
+            synchronized (this) {
+                while (!closed && (kind = nextKind()) == null) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                if (closed) {
+                    return;
+                }
+            }
+
+            Minefield board = null;
+            try {
+                board = prepare(kind);
+            } catch (RuntimeException e) {
+                LOGGER.log(System.Logger.Level.WARNING, "Could not prepare a board for " + kind, e);
+            }
+
+            synchronized (this) {
+                ArrayDeque<Minefield> ready = boards.get(kind);
+                if (board == null) {
+                    // stop retrying a kind that cannot be prepared until it is wanted again
+                    boards.remove(kind);
+                } else if (ready != null && ready.size() < BOARDS_PER_KIND) {
+                    ready.addLast(board);
+                    usedBytes += kind.difficulty().estimatedBytes();
+                }
+            }
+        }
+    }
+
+    /* the most recently wanted kind short of boards that fits in the budget, or null */
+    private Kind nextKind() {
+        Kind next = null;
+        for (Map.Entry<Kind, ArrayDeque<Minefield>> entry : boards.entrySet()) {
+            long bytes = entry.getKey().difficulty().estimatedBytes();
+            if (entry.getValue().size() < BOARDS_PER_KIND && usedBytes + bytes <= MEMORY_BUDGET) {
+                next = entry.getKey();
+            }
+        }
+        return next;
+    }
+
+    private void dropOldestKinds() {
+        Iterator<Map.Entry<Kind, ArrayDeque<Minefield>>> entries = boards.entrySet().iterator();
+        while (boards.size() > MAX_KINDS) {
+            Map.Entry<Kind, ArrayDeque<Minefield>> oldest = entries.next();
+            usedBytes -= oldest.getValue().size() * oldest.getKey().difficulty().estimatedBytes();
+            entries.remove();
+        }
+    }
+
+    private Minefield prepare(Kind kind) {
+        Difficulty difficulty = kind.difficulty();
+        if (!kind.noGuess()) {
+            // placed up front, so generating and indexing the board happens here rather than on the first move
+            return template.prepareNewGame(difficulty, ThreadLocalRandom.current().nextLong(), false);
+        }
+        NoGuessBoard found = null;
+        for (int i = 0; i < NO_GUESS_ATTEMPTS && !closed && (found == null || !found.solvable()); i++) {
+            found = noGuessGenerator.generate(
+                    difficulty,
+                    ThreadLocalRandom.current().nextLong(),
+                    NoGuessGenerator.DEFAULT_TIME_LIMIT_MILLIS,
+                    () -> closed);
+        }
+        if (found == null || !found.solvable()) {
+            LOGGER.log(System.Logger.Level.INFO, "No board solvable without guessing found for " + kind
+                    + "; not preparing it until it is wanted again");
+            return null;
+        }
+        // placement deferred as when the generator verified the board; the start move below places the bombs
+        Minefield board = template.prepareNewGame(difficulty, found.seed(), true);
+        board.chooseCell(found.startRow(), found.startCol());
+        return board;
+    }
+}
@@ -0,0 +1,90 @@
+package com.somerdin.minesweeper.gui;
+
+/**
+ * Tiles of a board that need to be drawn again, kept as a short list of
+ * rectangles in tile coordinates. A rectangle inside one already listed is
+ * dropped, and once the list is full every rectangle collapses into their
+ * bounding box, so a burst of changes never costs more than one pass over
+ * the tiles it touched. The whole board can also be marked at once.
+ */
+final class DirtyRegion {
+    // rectangles kept apart before they collapse into their bounding box
+    private static final int MAX_RECTANGLES = 16;
+
+    // top, left, bottom and right of each rectangle, inclusive
+    private final int[] bounds = new int[4 * MAX_RECTANGLES];
+    private int count;
+    private boolean all;
+
+    boolean isEmpty() {
+        return !all && count == 0;
+    }
+
+    boolean isAll() {
+        return all;
+    }
+
+    /* number of rectangles; zero when the whole board is marked */
+    int size() {
+        return count;
+    }
+
+    int top(int i) {
+        return bounds[4 * i];
+    }
+
+    int left(int i) {
+        return bounds[4 * i + 1];
+    }
+
+    int bottom(int i) {
+        return bounds[4 * i + 2];
+    }
+
+    int right(int i) {
+        return bounds[4 * i + 3];
+    }
+
+    /* marks one tile; a row or column of -1, meaning no tile, is ignored */
+    void add(int row, int col) {
+        if (row >= 0 && col >= 0) {
+            add(row, col, row, col);
+        }
+    }
+
+    /* marks the tiles from top left to bottom right, inclusive */
+    void add(int top, int left, int bottom, int right) {
+        if (all) {
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            if (top(i) <= top && left(i) <= left && bottom(i) >= bottom && right(i) >= right) {
+                return;
+            }
+        }
+        if (count == MAX_RECTANGLES) {
+            for (int i = 0; i < count; i++) {
+                top = Math.min(top, top(i));
+                left = Math.min(left, left(i));
+                bottom = Math.max(bottom, bottom(i));
+                right = Math.max(right, right(i));
+            }
+            count = 0;
+        }
+        bounds[4 * count] = top;
+        bounds[4 * count + 1] = left;
+        bounds[4 * count + 2] = bottom;
+        bounds[4 * count + 3] = right;
+        count++;
+    }
+
+    void addAll() {
+        all = true;
+        count = 0;
+    }
+
+    void clear() {
+        all = false;
+        count = 0;
+    }
+}
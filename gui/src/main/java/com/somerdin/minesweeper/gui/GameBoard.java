@@ -0,0 +1,842 @@
+package com.somerdin.minesweeper.gui;
+
+import com.somerdin.minesweeper.game.*;
+import com.somerdin.minesweeper.solver.BoardSnapshot;
+import com.somerdin.minesweeper.solver.Hint;
+import com.somerdin.minesweeper.solver.LatencyHistogram;
+import com.somerdin.minesweeper.solver.MonteCarloEstimator;
+import com.somerdin.minesweeper.solver.NoGuessBoard;
+import com.somerdin.minesweeper.solver.NoGuessGenerator;
+import com.somerdin.minesweeper.solver.Probabilities;
+import com.somerdin.minesweeper.solver.ProbabilityCalculator;
+import com.somerdin.minesweeper.solver.Solver;
+import com.somerdin.minesweeper.style.ColorTheme;
+import javafx.application.Platform;
+import javafx.beans.property.*;
+import javafx.scene.Scene;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.text.Font;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class GameBoard {
+    private static final double DEFAULT_GAP = 4;
+    // large boards have no gap between tiles so the tiles themselves stay visible
+    private static final double LARGE_BOARD_GAP = 0;
+    // smallest on-screen tile size, in pixels, that tile images are drawn at
+    private static final double MIN_IMAGE_TILE_SIZE = 6;
+    // number of tiles across the zoom area when fully zoomed in on a large board
+    private static final int MIN_VISIBLE_TILES = 4;
+    // layouts sampled when the frontier is too large to calculate exactly
+    private static final long ESTIMATED_SAMPLES = 20_000;
+    // searches for a no-guess board before settling for one that may need a guess
+    private static final int NO_GUESS_ATTEMPTS = 3;
+
+    private static final System.Logger LOGGER = System.getLogger(GameBoard.class.getName());
+
+    private final ZoomCanvas canvas;
+    private final GraphicsContext g;
+    private final Minefield minefield;
+    private final MinefieldProperties minefieldProperties;
+    private final GameTimer gameTimer;
+    private final Solver solver;
+    private final ProbabilityCalculator probabilityCalculator = new ProbabilityCalculator();
+    private final MonteCarloEstimator monteCarloEstimator = new MonteCarloEstimator();
+    // no-guess searches for a new game get every core, but on threads of their own, so
+    // they never hold up probability calculations and estimates on the common pool
+    private final ForkJoinPool noGuessPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+    private final NoGuessGenerator noGuessGenerator = new NoGuessGenerator(noGuessPool);
+    private final BoardPool boardPool;
+
+    private BoardAppearance boardAppearance;
+    private ColorTheme colorTheme = ColorTheme.DEFAULT;
+
+    private DoubleProperty tileLength = new SimpleDoubleProperty();
+    private DoubleProperty padding = new SimpleDoubleProperty(16);
+    private DoubleProperty gap = new SimpleDoubleProperty(DEFAULT_GAP);
+
+    private BooleanProperty inProgress = new SimpleBooleanProperty();
+    // new games are boards the solver wins from their start tile, which is revealed for the player
+    private boolean noGuess;
+    // search for the no-guess board of the game being started, or null; read by the search to stop early
+    private volatile CompletableFuture<NoGuessBoard> generation;
+    // run when no board solvable without guessing was found in time, and one that may need a guess was started
+    private Runnable onNoGuessFailed = () -> { };
+    // run when the search for a no-guess board failed with an error, and one that may need a guess was started
+    private Runnable onNoGuessError = () -> { };
+
+    // row and column of hovered and pressed tiles, or -1 if there is none
+    private int hoverRow = -1;
+    private int hoverCol = -1;
+    private int pressedRow = -1;
+    private int pressedCol = -1;
+    // true while a two-button press on a revealed number is held
+    private boolean chording;
+    // hint being shown until the next move, or null
+    private Hint hint;
+    // bomb probabilities shown as a heat map over hidden tiles, or null when hidden
+    private boolean showingProbabilities;
+    private Probabilities probabilities;
+    // calculation running for the board as it is now, or null
+    private CompletableFuture<Probabilities> calculation;
+    // sampling that refines inexact probabilities in the background, or null
+    private MonteCarloEstimator.Estimation estimation;
+
+    // packed tiles of the row being drawn, reused across frames
+    private byte[] rowTiles = new byte[0];
+    // tiles to draw on the next redraw; a redraw with none marked draws the whole board
+    private final DirtyRegion dirty = new DirtyRegion();
+
+    public GameBoard(Minefield field, GameTimer timer) {
+        this.gameTimer = timer;
+        this.minefield = field;
+        this.minefieldProperties = new MinefieldProperties(field);
+        field.addListener(new MinefieldListener() {
+            @Override
+            public void tilesChanged(Minefield minefield, int top, int left, int bottom, int right) {
+                dirty.add(top, left, bottom, right);
+            }
+        });
+        this.solver = new Solver(field);
+        this.boardPool = new BoardPool(field);
+        wantPresetBoards();
+
+        updateGap();
+
+        this.canvas = new ZoomCanvas(0, 0);
+        this.g = canvas.getGraphicsContext2D();
+        // created before the first resize, which draws the board
+        this.boardAppearance = new BoardAppearance(
+                BoardAppearance.Theme.DEFAULT,
+                tileLength,
+                canvas.zoomScaleProperty(),
+                0.75);
+        // the atlas drawn at a new size arrives after the frame that asked for it
+        boardAppearance.setOnAtlasReady(this::repaintAll);
+
+        canvas.widthProperty().addListener((observable, oldValue, newValue) -> {
+            tileLength.set(tileLength());
+            setNewGameZoomBounds();
+        });
+        canvas.heightProperty().addListener((observable, oldValue, newValue) -> {
+            tileLength.set(tileLength());
+            setNewGameZoomBounds();
+        });
+        canvas.redrawPendingProperty().addListener(((observable, oldValue, newValue) -> {
+            if (newValue) {
+                // redraws requested elsewhere, such as by the canvas after zooming, change every tile
+                if (dirty.isEmpty()) {
+                    dirty.addAll();
+                }
+                draw();
+                canvas.redrawPendingProperty().set(false);
+            }
+        }));
+        canvas.resize(500, 500);
+        timer.pausedProperty().addListener((observable, oldValue, newValue) -> repaintAll());
+
+        System.out.println(tileLength.get());
+
+        addCanvasMouseListeners();
+        setNewGameZoomBounds();
+    }
+
+    public ZoomCanvas getCanvas() {
+        return canvas;
+    }
+
+    public void startNewGame(Difficulty difficulty) {
+        generation = null;
+        // a board prepared in the background is swapped in when one is ready
+        Minefield prepared = boardPool.take(difficulty, noGuess);
+        if (prepared != null) {
+            minefield.startNewGame(prepared);
+        } else if (noGuess) {
+            generateNoGuessGame(difficulty);
+            return;
+        } else {
+            minefield.startNewGame(difficulty);
+        }
+        resetForNewGame();
+        if (noGuess) {
+            solver.update(NoGuessGenerator.startRow(difficulty), NoGuessGenerator.startCol(difficulty));
+        }
+    }
+
+    /* start the exact board described by a board code, replaying its first move if it has one */
+    public void startNewGame(BoardCode boardCode) {
+        generation = null;
+        minefield.startNewGame(boardCode);
+        resetForNewGame();
+        if (boardCode.hasFirstMove()) {
+            solver.update(boardCode.firstRow(), boardCode.firstCol());
+        }
+    }
+
+    /*
+     * searches for a no-guess board on another thread and starts it once
+     * found; until then an empty board of the difficulty is shown, which
+     * takes no moves
+     */
+    private void generateNoGuessGame(Difficulty difficulty) {
+        minefield.startNewGame(difficulty);
+        resetForNewGame();
+
+        CompletableFuture<NoGuessBoard> started = new CompletableFuture<>();
+        generation = started;
+        CompletableFuture.runAsync(() -> {
+            try {
+                NoGuessBoard board = null;
+                for (int i = 0; i < NO_GUESS_ATTEMPTS && (board == null || !board.solvable()); i++) {
+                    board = noGuessGenerator.generate(
+                            difficulty,
+                            ThreadLocalRandom.current().nextLong(),
+                            NoGuessGenerator.DEFAULT_TIME_LIMIT_MILLIS,
+                            () -> generation != started);
+                }
+                started.complete(board);
+            } catch (Throwable e) {
+                started.completeExceptionally(e);
+            }
+        }, noGuessPool);
+        started.whenCompleteAsync((board, error) -> {
+            // a search for a game that has since been replaced is dropped
+            if (generation != started) {
+                return;
+            }
+            generation = null;
+            // a failed search leaves the empty board as an ordinary game
+            if (error != null) {
+                LOGGER.log(System.Logger.Level.WARNING, "Could not search for a board solvable without guessing", error);
+                onNoGuessError.run();
+                return;
+            }
+            if (board != null) {
+                // the settings the generator verified the board with, whatever this minefield's are
+                minefield.startNewGame(new BoardCode(
+                        difficulty, board.seed(), true, true, board.startRow(), board.startCol()));
+                resetForNewGame();
+                solver.update(board.startRow(), board.startCol());
+            }
+            if (board == null || !board.solvable()) {
+                onNoGuessFailed.run();
+            }
+        }, Platform::runLater);
+    }
+
+    public boolean isNoGuess() {
+        return noGuess;
+    }
+
+    /* sets whether new games need no guessing; takes effect on the next new game */
+    public void setNoGuess(boolean noGuess) {
+        this.noGuess = noGuess;
+        wantPresetBoards();
+    }
+
+    /* sets what to do when a new no-guess game had to settle for a board that may need a guess */
+    public void setOnNoGuessFailed(Runnable onNoGuessFailed) {
+        this.onNoGuessFailed = onNoGuessFailed;
+    }
+
+    /* sets what to do when the search for a new no-guess game failed with an error, leaving a board that may need a guess */
+    public void setOnNoGuessError(Runnable onNoGuessError) {
+        this.onNoGuessError = onNoGuessError;
+    }
+
+    /* how long each search for a no-guess board took, whether for a new game or a prepared board */
+    public LatencyHistogram getNoGuessLatencies() {
+        LatencyHistogram latencies = new LatencyHistogram();
+        latencies.addAll(noGuessGenerator.latencies());
+        latencies.addAll(boardPool.noGuessLatencies());
+        return latencies;
+    }
+
+    /* keeps boards of the current and preset difficulties ready, so switching to them is instant */
+    private void wantPresetBoards() {
+        boardPool.want(Difficulty.EASY, noGuess);
+        boardPool.want(Difficulty.MEDIUM, noGuess);
+        boardPool.want(Difficulty.HARD, noGuess);
+        boardPool.want(minefield.getDifficulty(), noGuess);
+    }
+
+    /* code that starts the current board again, or null if it was loaded rather than generated */
+    public BoardCode getBoardCode() {
+        return minefield.getBoardCode();
+    }
+
+    /* highlights a tile that is certainly safe, or else certainly a bomb, until the next move; returns null if there is none */
+    public Hint showHint() {
+        setHint(minefield.getGameResult() == GameResult.IN_PROGRESS ? solver.hint() : null);
+        requestRedraw();
+        return hint;
+    }
+
+    public boolean isShowingProbabilities() {
+        return showingProbabilities;
+    }
+
+    /* shows or hides the bomb probability of every hidden tile, recalculated after each move */
+    public void setShowingProbabilities(boolean showing) {
+        showingProbabilities = showing;
+        updateProbabilities();
+        requestRedraw();
+    }
+
+    /*
+     * recalculates the probabilities on another thread, leaving the shown
+     * ones in place until the new ones are ready; a calculation of a board
+     * that has since changed is dropped
+     */
+    private void updateProbabilities() {
+        if (estimation != null) {
+            estimation.cancel();
+            estimation = null;
+        }
+        calculation = null;
+        if (!showingProbabilities || minefield.getGameResult() != GameResult.IN_PROGRESS) {
+            // the heat map covers every hidden tile, so hiding it redraws the board
+            if (probabilities != null) {
+                probabilities = null;
+                dirty.addAll();
+            }
+            return;
+        }
+
+        // copied here so the calculation never reads the board while a move changes it
+        BoardSnapshot snapshot = BoardSnapshot.of(minefield);
+        MonteCarloEstimator.Estimation[] sampling = new MonteCarloEstimator.Estimation[1];
+        CompletableFuture<Probabilities> started = CompletableFuture.supplyAsync(() -> {
+            Probabilities calculated = probabilityCalculator.calculate(snapshot);
+            if (!calculated.isExact()) {
+                sampling[0] = startEstimation(snapshot, sampling);
+            }
+            return calculated;
+        });
+        calculation = started;
+        started.thenAcceptAsync(calculated -> {
+            if (calculation != started) {
+                if (sampling[0] != null) {
+                    sampling[0].cancel();
+                }
+                return;
+            }
+            calculation = null;
+            probabilities = calculated;
+            estimation = sampling[0];
+            repaintAll();
+        }, Platform::runLater);
+    }
+
+    /* samples layouts of a snapshot, replacing the shown probabilities as estimates improve */
+    private MonteCarloEstimator.Estimation startEstimation(BoardSnapshot snapshot,
+                                                           MonteCarloEstimator.Estimation[] started) {
+        return monteCarloEstimator.start(snapshot, ESTIMATED_SAMPLES, estimate -> Platform.runLater(() -> {
+            // estimates of a board that has since changed are dropped
+            if (estimation != null && estimation == started[0] && !estimation.isCancelled()) {
+                probabilities = estimate;
+                repaintAll();
+            }
+        }));
+    }
+
+    private void resetForNewGame() {
+        solver.reset();
+        setHint(null);
+        // probabilities of the last board must not be drawn while the new board's are calculated
+        probabilities = null;
+        updateProbabilities();
+        inProgress.set(false);
+        updateGap();
+        tileLength.set(tileLength());
+        setNewGameZoomBounds();
+
+        repaintAll();
+    }
+
+    public int getRowCount() {
+        return minefield.rowCount();
+    }
+
+    public int getColCount() {
+        return minefield.colCount();
+    }
+
+    public int getPercentBomb() {
+        return minefield.getPercentBomb();
+    }
+
+    public IntegerProperty flaggedCountProperty() {
+        return minefieldProperties.flaggedCountProperty();
+    }
+
+    public IntegerProperty bombCountProperty() {
+        return minefieldProperties.bombCountProperty();
+    }
+
+    public BooleanProperty inProgressProperty() {
+        return inProgress;
+    }
+
+    public BooleanProperty isFirstMoveProperty() {
+        return minefieldProperties.firstMoveProperty();
+    }
+
+    public DoubleProperty widthProperty() {
+        return canvas.widthProperty();
+    }
+
+    public DoubleProperty heightProperty() {
+        return canvas.heightProperty();
+    }
+
+    public Difficulty getDifficulty() {
+        return minefield.getDifficulty();
+    }
+
+    /* draws the tiles marked dirty, or the whole board if it is marked */
+    private void draw() {
+        if (gameTimer.isPaused()) {
+            drawPaused();
+        } else if (dirty.isAll()) {
+            drawAll();
+        } else {
+            for (int i = 0; i < dirty.size(); i++) {
+                drawTiles(dirty.top(i), dirty.left(i), dirty.bottom(i), dirty.right(i));
+            }
+        }
+        dirty.clear();
+
+        Rectangle zoomArea = canvas.getZoomArea();
+        g.strokeRect(zoomArea.getX(),
+                zoomArea.getY(),
+                zoomArea.getWidth(),
+                zoomArea.getHeight());
+        g.strokeRect(canvas.getZoomBoundsX(), canvas.getZoomBoundsY(), canvas.getZoomBoundsWidth(), canvas.getZoomBoundsHeight());
+    }
+
+    private void drawAll() {
+        g.setFill(colorTheme.getGapColor());
+        g.clearRect(0, 0, width(), height());
+        drawTiles(0, 0, rows() - 1, cols() - 1);
+    }
+
+    /*
+     * draws the tiles from top left to bottom right, inclusive, over what was
+     * drawn there before; tiles outside the zoom area would land off the
+     * canvas, so only those inside it are drawn
+     */
+    private void drawTiles(int top, int left, int bottom, int right) {
+        if (tileLength.get() <= 0) {
+            return;
+        }
+        double xShift = canvas.getZoomBoundsX();
+        double yShift = canvas.getZoomBoundsY();
+        Rectangle zoomArea = canvas.getZoomArea();
+        top = Math.max(top, Math.max(0, tileAt(zoomArea.getY() - yShift)));
+        left = Math.max(left, Math.max(0, tileAt(zoomArea.getX() - xShift)));
+        bottom = Math.min(bottom, Math.min(rows() - 1, tileAt(zoomArea.getY() + zoomArea.getHeight() - yShift)));
+        right = Math.min(right, Math.min(cols() - 1, tileAt(zoomArea.getX() + zoomArea.getWidth() - xShift)));
+
+        // whole rows are read in bulk; narrower ranges tile by tile, so a
+        // small viewport on a huge board never reads the rest of its rows
+        boolean wholeRows = left == 0 && right == cols() - 1;
+        if (rowTiles.length < cols()) {
+            rowTiles = new byte[cols()];
+        }
+        // with no gap between tiles, a run of tiles of one color is filled as a
+        // single rectangle, so a zoomed out large board is a few fills per row
+        boolean mergeRuns = gap.get() == 0;
+        boolean glyphs = tileLength.get() * canvas.getZoomScale() >= MIN_IMAGE_TILE_SIZE;
+        for (int i = top; i <= bottom; i++) {
+            if (wholeRows) {
+                minefield.getTileRow(i, rowTiles);
+            } else {
+                for (int j = left; j <= right; j++) {
+                    rowTiles[j] = minefield.getTile(i, j);
+                }
+            }
+            double y = cellCornerY(i) + yShift;
+            int j = left;
+            while (j <= right) {
+                Color fill = tileFill(i, j, rowTiles[j]);
+                int end = j;
+                while (mergeRuns && end < right && fill.equals(tileFill(i, end + 1, rowTiles[end + 1]))) {
+                    end++;
+                }
+                double x = cellCornerX(j) + xShift;
+                double width = cellCornerX(end) - cellCornerX(j) + tileLength.get();
+                canvas.clearRectWithZoom(x, y, width, tileLength.get());
+                g.setFill(fill);
+                canvas.fillRectWithZoom(x, y, width, tileLength.get());
+                if (glyphs) {
+                    for (int k = j; k <= end; k++) {
+                        drawGlyph(cellCornerX(k) + xShift, y, rowTiles[k]);
+                    }
+                }
+                j = end + 1;
+            }
+        }
+    }
+
+    /* row or column of the tile at, or of the last tile before, a distance from the zoom bounds' corner */
+    private int tileAt(double position) {
+        return (int) Math.floor((position - gap.get() - padding.get()) / (tileLength.get() + gap.get()));
+    }
+
+    /* background color of a tile */
+    private Color tileFill(int row, int col, byte tile) {
+        if (row == pressedRow && col == pressedCol) {
+            return colorTheme.getSelectColor();
+        } else if (row == hoverRow && col == hoverCol) {
+            return colorTheme.getHoverColor();
+        } else if (hint != null && row == hint.row() && col == hint.col()) {
+            return hint.mine() ? colorTheme.getMineHintColor() : colorTheme.getSafeHintColor();
+        } else if (PackedBoard.cellStatus(tile) == CellStatus.REVEALED) {
+            if (PackedBoard.bombStatus(tile) == BombStatus.DETONATED) {
+                return colorTheme.getBombColor();
+            }
+            return colorTheme.getRevealedTileColor();
+        } else if (probabilities != null) {
+            double p = probabilities.probability(row, col);
+            return colorTheme.getSafeHintColor().interpolate(colorTheme.getMineHintColor(), p);
+        }
+        return colorTheme.getTileColor();
+    }
+
+    /* draws the glyph of a tile, if it has one, over its background at x, y */
+    private void drawGlyph(double x, double y, byte tile) {
+        BoardAppearance.Tile glyph = getTileGlyph(tile);
+        if (glyph == null) {
+            return;
+        }
+        // glyphs are rasterized in the background; until the first is ready there is nothing to draw
+        TileAtlas atlas = boardAppearance.getAtlas(outputScale());
+        if (atlas != null) {
+            atlas.draw(
+                    canvas,
+                    glyph,
+                    x + 0.125 * tileLength.get(),
+                    y + 0.125 * tileLength.get(),
+                    boardAppearance.getGlyphSize());
+        }
+    }
+
+    private void drawPaused() {
+        g.setFill(colorTheme.getPausedColor());
+        g.fillRect(0, 0, canvas.getWidth(), canvas.getHeight());
+
+        g.setFont(new Font(24));
+        g.setFill(Color.BLACK);
+        g.fillText("Paused", canvas.getWidth() / 2, canvas.getHeight() / 2);
+    }
+
+    private BoardAppearance.Tile getTileGlyph(byte tile) {
+        return switch (PackedBoard.cellStatus(tile)) {
+            case HIDDEN -> null;
+            case FLAGGED -> {
+                // a lost game only reveals bombs, so flags on empty tiles are marked instead
+                if (!PackedBoard.isBomb(tile) && minefield.getGameResult() == GameResult.GAME_LOST) {
+                    yield BoardAppearance.Tile.INCORRECT;
+                }
+                yield BoardAppearance.Tile.FLAG;
+            }
+            case FLAGGED_QUESTION -> BoardAppearance.Tile.MAYBE;
+            case REVEALED -> {
+                if (PackedBoard.isBomb(tile)) {
+                    if (PackedBoard.bombStatus(tile) == BombStatus.UNDETONATED) {
+                        yield BoardAppearance.Tile.MINE;
+                    }
+                    yield BoardAppearance.Tile.EXPLODED;
+                }
+                int count = PackedBoard.neighborCount(tile);
+                if (count == 0) {
+                    yield null;
+                }
+                yield BoardAppearance.getNumberTile(count);
+            }
+            default -> throw new IllegalStateException();
+        };
+    }
+
+    /* screen pixels per canvas pixel, above 1 on high density displays */
+    private double outputScale() {
+        Scene scene = canvas.getScene();
+        return scene == null || scene.getWindow() == null ? 1 : scene.getWindow().getOutputScaleX();
+    }
+
+    private double width() {
+        return canvas.getWidth();
+    }
+
+    private double height() {
+        return canvas.getHeight();
+    }
+
+    private int rows() {
+        return minefield.rowCount();
+    }
+
+    private int cols() {
+        return minefield.colCount();
+    }
+
+    private void updateGap() {
+        gap.set(minefield.getDifficulty().large() ? LARGE_BOARD_GAP : DEFAULT_GAP);
+    }
+
+    /* other methods should use class field value to avoid unnecessary calculation */
+    private double tileLength() {
+        if (width() / cols() < height() / rows()) {
+            double totalGap = (cols() + 1) * gap.get() + (2 * padding.get());
+            return (width() - totalGap) / cols();
+        }
+        double totalGap = (rows() + 1) * gap.get() + (2 * padding.get());
+        return (height() - totalGap) / rows();
+    }
+
+    private int getRow(double mouseY) {
+        mouseY = canvas.zoomToNonZoomY(mouseY);
+
+        double tileGapSize = tileLength.get() + gap.get();
+        double row = (mouseY - canvas.getZoomBoundsY() - padding.get()) / tileGapSize;
+        if (row < 0 || row >= rows()) {
+            return -1;
+        }
+        return (int) row;
+    }
+
+    private int getCol(double mouseX) {
+        mouseX = canvas.zoomToNonZoomX(mouseX);
+
+        double tileGapSize = tileLength.get() + gap.get();
+        double col = (mouseX - canvas.getZoomBoundsX() - padding.get()) / tileGapSize;
+        if (col < 0 || col >= cols()) {
+            return -1;
+        }
+        return (int) col;
+    }
+
+    private double cellCornerX(int col) {
+        return gap.get() + padding.get() + col * (tileLength.get() + gap.get());
+    }
+
+    private double cellCornerY(int row) {
+        return gap.get() + padding.get() + row * (tileLength.get() + gap.get());
+    }
+
+    private void setNewGameZoomBounds() {
+        double gridWidth = (tileLength.get() + gap.get()) * cols() + gap.get() + (2 * padding.get());
+        double gridHeight = (tileLength.get() + gap.get()) * rows() + gap.get() + (2 * padding.get());
+
+        double x = Math.max(0, (canvas.getWidth() - gridWidth) / 2);
+        double y = Math.max(0, (canvas.getHeight() - gridHeight) / 2);
+
+        // allow zooming in until only a few tiles span the zoom area, so
+        // tiles on large boards can be zoomed to a playable size
+        double minZoomAreaSize = Math.min(
+                ZoomCanvas.MIN_ZOOM_AREA_SIZE,
+                MIN_VISIBLE_TILES * (tileLength.get() + gap.get()));
+        if (minZoomAreaSize > 0) {
+            canvas.setMinZoomAreaSize(minZoomAreaSize);
+        }
+
+        canvas.setZoomBounds(x, y, gridWidth, gridHeight);
+        canvas.setZoomArea(x, y, gridWidth, gridHeight);
+    }
+
+    private void addCanvasMouseListeners() {
+        canvas.setOnMouseMoved(ev -> {
+            if (!isGameInteractive()) {
+                return;
+            }
+
+            int row = getRow(ev.getY());
+            int col = getCol(ev.getX());
+
+            if (row == -1 || col == -1 || !isCellHoverable(row, col)) {
+                setHover(-1, -1);
+            } else {
+                setHover(row, col);
+            }
+            requestRedraw();
+        });
+
+        canvas.setOnMouseDragged(ev -> {
+            if (!isGameInteractive()) {
+                return;
+            }
+
+            int row = getRow(ev.getY());
+            int col = getCol(ev.getX());
+
+            if (row == -1 || col == -1) {
+                setHover(-1, -1);
+                setPressed(-1, -1);
+            } else if ((!chording && !isCellSelectable(row, col))
+                    || row != pressedRow || col != pressedCol) {
+                setPressed(-1, -1);
+                setHover(row, col);
+            }
+            requestRedraw();
+        });
+
+        canvas.setOnMousePressed(ev -> {
+            int row = getRow(ev.getY());
+            int col = getCol(ev.getX());
+
+            if (!isGameInteractive() || row == -1 || col == -1) {
+                return;
+            }
+
+            chording = isChordPress(ev) && minefield.getCellStatus(row, col) == CellStatus.REVEALED;
+            if (chording) {
+                setPressed(row, col);
+            } else if (ev.getButton() == MouseButton.PRIMARY && isCellSelectable(row, col)) {
+                setPressed(row, col);
+            } else if (ev.getButton() == MouseButton.SECONDARY
+                    && minefield.getCellStatus(row, col) != CellStatus.REVEALED) {
+                setPressed(-1, -1);
+                setHint(null);
+                minefield.toggleFlag(row, col);
+            }
+            requestRedraw();
+        });
+        canvas.setOnMouseReleased(ev -> {
+            int row = getRow(ev.getY());
+            int col = getCol(ev.getX());
+
+            if (row == -1 || col == -1
+                    || minefield.getGameResult() != GameResult.IN_PROGRESS
+                    || gameTimer.isPaused()
+                    || pressedRow == -1) {
+                return;
+            }
+
+            boolean onPressedTile = row == pressedRow && col == pressedCol;
+            setPressed(-1, -1);
+
+            if (chording) {
+                // releasing either button of a two-button press finishes the chord
+                chording = false;
+                if (onPressedTile) {
+                    setHint(null);
+                    minefield.chord(row, col);
+                    solver.update(row, col);
+                    updateProbabilities();
+                    checkGameOver();
+                }
+            } else if (ev.getButton() == MouseButton.PRIMARY && isCellSelectable(row, col)) {
+                inProgress.set(true);
+                setHover(-1, -1);
+
+                if (minefield.getCellStatus(row, col) != CellStatus.REVEALED) {
+                    setHint(null);
+                    minefield.chooseCell(row, col);
+                    solver.update(row, col);
+                    updateProbabilities();
+
+                    if (!gameTimer.isRunning()) {
+                        gameTimer.start();
+                    }
+                    checkGameOver();
+                }
+            }
+            requestRedraw();
+        });
+        canvas.setOnMouseExited(ev -> {
+            setHover(-1, -1);
+            setPressed(-1, -1);
+            requestRedraw();
+        });
+        canvas.setOnMouseDragExited(ev -> {
+            setHover(-1, -1);
+            setPressed(-1, -1);
+            requestRedraw();
+        });
+    }
+
+    /*
+     * one of the primary and secondary buttons pressed while the other is
+     * held; the middle button is left to the canvas, which pans with it
+     */
+    private boolean isChordPress(MouseEvent ev) {
+        return switch (ev.getButton()) {
+            case PRIMARY -> ev.isSecondaryButtonDown();
+            case SECONDARY -> ev.isPrimaryButtonDown();
+            default -> false;
+        };
+    }
+
+    private void checkGameOver() {
+        if (minefield.getGameResult() == GameResult.GAME_WON
+                || minefield.getGameResult() == GameResult.GAME_LOST) {
+            inProgress.set(false);
+            gameTimer.stop();
+        }
+    }
+
+    private boolean isGameInteractive() {
+        return minefield.getGameResult() == GameResult.IN_PROGRESS
+                && !gameTimer.isPaused()
+                && generation == null;
+    }
+
+    /* draws the tiles marked dirty since the last redraw, if there are any */
+    private void requestRedraw() {
+        if (!dirty.isEmpty()) {
+            canvas.redrawPendingProperty().set(true);
+        }
+    }
+
+    private void repaintAll() {
+        dirty.addAll();
+        canvas.redrawPendingProperty().set(true);
+    }
+
+    private void setHover(int row, int col) {
+        if (row != hoverRow || col != hoverCol) {
+            dirty.add(hoverRow, hoverCol);
+            dirty.add(row, col);
+            hoverRow = row;
+            hoverCol = col;
+        }
+    }
+
+    private void setPressed(int row, int col) {
+        if (row != pressedRow || col != pressedCol) {
+            dirty.add(pressedRow, pressedCol);
+            dirty.add(row, col);
+            pressedRow = row;
+            pressedCol = col;
+        }
+    }
+
+    private void setHint(Hint newHint) {
+        if (hint != null) {
+            dirty.add(hint.row(), hint.col());
+        }
+        if (newHint != null) {
+            dirty.add(newHint.row(), newHint.col());
+        }
+        hint = newHint;
+    }
+
+    private boolean isCellHoverable(int row, int col) {
+        return minefield.getCellStatus(row, col) != CellStatus.REVEALED;
+    }
+
+    private boolean isCellSelectable(int row, int col) {
+        return minefield.getCellStatus(row, col) == CellStatus.HIDDEN;
+    }
+
+    private boolean isCellFlaggable(int row, int col) {
+        return minefield.getCellStatus(row, col) != CellStatus.REVEALED;
+    }
+}
@@ -1,6 +1,7 @@
 package com.somerdin.minesweeper.gui;
 
 import com.somerdin.minesweeper.Application;
+import com.somerdin.minesweeper.game.BoardCode;
 import com.somerdin.minesweeper.game.Difficulty;
 import com.somerdin.minesweeper.style.WindowGraphic;
 import javafx.beans.binding.Bindings;
@@ -12,6 +13,11 @@ import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.effect.ColorAdjust;
 import javafx.scene.image.ImageView;
+import javafx.scene.input.Clipboard;
+import javafx.scene.input.ClipboardContent;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyCodeCombination;
+import javafx.scene.input.KeyCombination;
 import javafx.scene.layout.*;
 import javafx.scene.text.Text;
 import javafx.stage.Modality;
@@ -54,14 +60,26 @@ public class GameWindow {
 
     /* start new game with specified settings */
     public void startGame(Difficulty difficulty) {
-        gameTimer.stop();
-        gameTimer.reset();
-        gameTimer.pausedProperty().set(false);
-        gameTimer.isRunningProperty().set(false);
+        resetTimer();
         gameBoard.startNewGame(difficulty);
     }
 
+    /* start the exact board described by a board code */
+    public void startGame(BoardCode boardCode) {
+        resetTimer();
+        gameBoard.startNewGame(boardCode);
+    }
+
     public void startGameAfterConfirmation(Difficulty difficulty) {
+        runAfterConfirmation(() -> startGame(difficulty));
+    }
+
+    public void startGameAfterConfirmation(BoardCode boardCode) {
+        runAfterConfirmation(() -> startGame(boardCode));
+    }
+
+    /* runs the given action to start a new game, first asking the user if a game is in progress */
+    private void runAfterConfirmation(Runnable newGame) {
         if (gameBoard.inProgressProperty().get()) {
             Alert alert = new Alert(
                     Alert.AlertType.NONE,
@@ -71,14 +89,21 @@ public class GameWindow {
             alert.setTitle("Confirmation");
             alert.showAndWait().ifPresent((response) -> {
                 if (response == ButtonType.OK) {
-                    startGame(difficulty);
+                    newGame.run();
                 }
             });
         } else {
-            startGame(difficulty);
+            newGame.run();
         }
     }
 
+    private void resetTimer() {
+        gameTimer.stop();
+        gameTimer.reset();
+        gameTimer.pausedProperty().set(false);
+        gameTimer.isRunningProperty().set(false);
+    }
+
     public Pane getRootNode() {
         return rootNode;
     }
@@ -203,21 +228,133 @@ public class GameWindow {
 
         Menu optionsMenu = new Menu("Options");
 
-        optionsMenu.getItems().addAll(difficultyMenu(), changeTheme);
+        optionsMenu.getItems().addAll(difficultyMenu(), noGuessMenuItem(), changeTheme);
 
+        MenuItem copyBoardCode = copyBoardCodeMenuItem();
         Menu gameMenu = new Menu("Game");
+        // a loaded game has no board code, so whether there is one is checked each time the menu opens
+        gameMenu.setOnShowing(ev -> copyBoardCode.setDisable(gameBoard.getBoardCode() == null));
+        gameMenu.getItems().addAll(
+                hintMenuItem(),
+                probabilitiesMenuItem(),
+                copyBoardCode,
+                enterBoardCodeMenuItem(),
+                noGuessTimesMenuItem());
 
         MenuBar menuBar = new MenuBar(optionsMenu, gameMenu);
 
         return menuBar;
     }
 
+    private CheckMenuItem noGuessMenuItem() {
+        CheckMenuItem item = new CheckMenuItem("No Guessing");
+        item.setSelected(Application.PREFERENCES.getBoolean(Application.NO_GUESS_PREF, false));
+        gameBoard.setNoGuess(item.isSelected());
+        gameBoard.setOnNoGuessFailed(() -> {
+            Alert alert = new Alert(
+                    Alert.AlertType.INFORMATION,
+                    "No board that can be solved without guessing was found in time, so this one may need a guess.",
+                    ButtonType.OK);
+            alert.setHeaderText(null);
+            alert.initOwner(parentStage);
+            alert.show();
+        });
+        gameBoard.setOnNoGuessError(() -> {
+            Alert alert = new Alert(
+                    Alert.AlertType.ERROR,
+                    "The search for a board that can be solved without guessing failed, so this one may need a guess.",
+                    ButtonType.OK);
+            alert.setHeaderText(null);
+            alert.initOwner(parentStage);
+            alert.show();
+        });
+        item.setOnAction(ev -> {
+            gameBoard.setNoGuess(item.isSelected());
+            Application.PREFERENCES.putBoolean(Application.NO_GUESS_PREF, item.isSelected());
+        });
+        return item;
+    }
+
+    private MenuItem noGuessTimesMenuItem() {
+        MenuItem item = new MenuItem("No Guessing Search Times");
+        item.setOnAction(ev -> {
+            Alert alert = new Alert(
+                    Alert.AlertType.INFORMATION,
+                    "Time spent searching for each no guessing board:\n" + gameBoard.getNoGuessLatencies(),
+                    ButtonType.OK);
+            alert.setHeaderText(null);
+            alert.initOwner(parentStage);
+            alert.showAndWait();
+        });
+        return item;
+    }
+
+    private MenuItem hintMenuItem() {
+        MenuItem item = new MenuItem("Hint");
+        item.setAccelerator(new KeyCodeCombination(KeyCode.H, KeyCombination.SHORTCUT_DOWN));
+        item.setOnAction(ev -> {
+            if (gameBoard.showHint() == null) {
+                Alert alert = new Alert(
+                        Alert.AlertType.INFORMATION,
+                        "No tile can be found safe or a bomb from the revealed numbers.",
+                        ButtonType.OK);
+                alert.setHeaderText(null);
+                alert.initOwner(parentStage);
+                alert.showAndWait();
+            }
+        });
+        return item;
+    }
+
+    private CheckMenuItem probabilitiesMenuItem() {
+        CheckMenuItem item = new CheckMenuItem("Show Probabilities");
+        item.setAccelerator(new KeyCodeCombination(KeyCode.P, KeyCombination.SHORTCUT_DOWN));
+        item.setOnAction(ev -> gameBoard.setShowingProbabilities(item.isSelected()));
+        return item;
+    }
+
+    private MenuItem copyBoardCodeMenuItem() {
+        MenuItem item = new MenuItem("Copy Board Code");
+        item.setOnAction(ev -> {
+            BoardCode boardCode = gameBoard.getBoardCode();
+            if (boardCode != null) {
+                ClipboardContent content = new ClipboardContent();
+                content.putString(boardCode.toString());
+                Clipboard.getSystemClipboard().setContent(content);
+            }
+        });
+        return item;
+    }
+
+    private MenuItem enterBoardCodeMenuItem() {
+        MenuItem item = new MenuItem("Enter Board Code...");
+        item.setOnAction(ev -> {
+            TextInputDialog dialog = new TextInputDialog();
+            dialog.setTitle("Enter Board Code");
+            dialog.setHeaderText(null);
+            dialog.setContentText("Board code");
+            dialog.initOwner(parentStage);
+            dialog.showAndWait().ifPresent(code -> {
+                BoardCode boardCode;
+                try {
+                    boardCode = BoardCode.parse(code);
+                } catch (IllegalArgumentException e) {
+                    Alert alert = new Alert(Alert.AlertType.ERROR, e.getMessage(), ButtonType.OK);
+                    alert.initOwner(parentStage);
+                    alert.showAndWait();
+                    return;
+                }
+                startGameAfterConfirmation(boardCode);
+            });
+        });
+        return item;
+    }
+
     private RadioMenuItem difficultyMenuItem(String name, Difficulty difficulty) {
         RadioMenuItem item = new RadioMenuItem(name);
         item.setOnAction(ev -> {
             startGameAfterConfirmation(difficulty);
-            // TODO: should not use toString() for this
-            Application.PREFERENCES.put(Application.DIFFICULTY_PREF, difficulty.toString());
+            Application.PREFERENCES.put(Application.DIFFICULTY_PREF, Application.difficultyPrefValue(difficulty));
         });
         return item;
     }
@@ -235,12 +372,13 @@ public class GameWindow {
         difficultyGroup.getToggles().addAll(
                 easyMenuItem, mediumMenuItem, hardMenuItem, customMenuItem);
 
-        String prefDifficulty = Application.PREFERENCES.get(Application.DIFFICULTY_PREF, Difficulty.EASY.toString());
-        if (prefDifficulty.equals(Difficulty.EASY.toString())) {
+        Difficulty prefDifficulty = Application.presetDifficulty(
+                Application.PREFERENCES.get(Application.DIFFICULTY_PREF, Application.EASY_DIFFICULTY_VALUE));
+        if (Difficulty.EASY.equals(prefDifficulty)) {
             difficultyGroup.selectToggle(easyMenuItem);
-        } else if (prefDifficulty.equals(Difficulty.MEDIUM.toString())) {
+        } else if (Difficulty.MEDIUM.equals(prefDifficulty)) {
             difficultyGroup.selectToggle(mediumMenuItem);
-        } else if (prefDifficulty.equals(Difficulty.HARD.toString())) {
+        } else if (Difficulty.HARD.equals(prefDifficulty)) {
             difficultyGroup.selectToggle(hardMenuItem);
         }
 
@@ -285,6 +423,13 @@ public class GameWindow {
                 formatterFactory.get(), Difficulty.MIN_BOMB_PERCENT, Difficulty.MAX_BOMB_PERCENT
         );
 
+        // large boards lift the row and column caps, limited by a memory budget instead
+        CheckBox largeBoardCheckBox = new CheckBox("Large board");
+        largeBoardCheckBox.selectedProperty().addListener((observable, oldValue, newValue) -> {
+            setSpinnerMax(rowSpinner, newValue ? Difficulty.LARGE_MAX_ROWS : Difficulty.MAX_ROWS);
+            setSpinnerMax(colSpinner, newValue ? Difficulty.LARGE_MAX_COLS : Difficulty.MAX_COLS);
+        });
+
         Button startButton = new Button("New Game");
 
         vBox.add(new Label("Rows"), 0, 0);
@@ -293,7 +438,8 @@ public class GameWindow {
         vBox.add(colSpinner, 1, 1);
         vBox.add(new Label("Percent Mines"), 0, 2);
         vBox.add(bombSpinner, 1, 2);
-        vBox.add(startButton, 0, 3);
+        vBox.add(largeBoardCheckBox, 0, 3, 2, 1);
+        vBox.add(startButton, 0, 4);
 
         Stage customDifficultyOptions = new Stage();
         customDifficultyOptions.setTitle("Custom Difficulty");
@@ -304,12 +450,21 @@ public class GameWindow {
 
         startButton.setOnAction(ev -> {
             System.out.println("CHANGING TO CUSTOM");
-            customDifficultyOptions.close();
 
-            Difficulty difficulty = new Difficulty(
-                    rowSpinner.getValue(),
-                    colSpinner.getValue(),
-                    bombSpinner.getValue());
+            Difficulty difficulty;
+            try {
+                difficulty = new Difficulty(
+                        rowSpinner.getValue(),
+                        colSpinner.getValue(),
+                        bombSpinner.getValue(),
+                        largeBoardCheckBox.isSelected());
+            } catch (IllegalArgumentException e) {
+                Alert alert = new Alert(Alert.AlertType.ERROR, e.getMessage(), ButtonType.OK);
+                alert.initOwner(customDifficultyOptions);
+                alert.showAndWait();
+                return;
+            }
+            customDifficultyOptions.close();
 
             Application.PREFERENCES.put(Application.DIFFICULTY_PREF, Application.CUSTOM_DIFFICULTY_VALUE);
             startGame(difficulty);
@@ -322,13 +477,20 @@ public class GameWindow {
             TextFormatter<Integer> formatter,
             int min,
             int max) {
-        Spinner<Integer> spinner = new Spinner<>(1, 99, 8);
+        Spinner<Integer> spinner = new Spinner<>(min, max, Math.clamp(8, min, max));
         spinner.setEditable(true);
         spinner.getEditor().setTextFormatter(formatter);
         spinner.getEditor().setPrefColumnCount(4);
         return spinner;
     }
 
+    private void setSpinnerMax(Spinner<Integer> spinner, int max) {
+        SpinnerValueFactory.IntegerSpinnerValueFactory factory =
+                (SpinnerValueFactory.IntegerSpinnerValueFactory) spinner.getValueFactory();
+        factory.setMax(max);
+        factory.setValue(Math.min(factory.getValue(), max));
+    }
+
     private Pane centerPane() {
         ZoomCanvas canvas = gameBoard.getCanvas();
 
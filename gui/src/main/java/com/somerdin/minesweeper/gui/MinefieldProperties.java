@@ -0,0 +1,64 @@
+package com.somerdin.minesweeper.gui;
+
+import com.somerdin.minesweeper.game.GameResult;
+import com.somerdin.minesweeper.game.Minefield;
+import com.somerdin.minesweeper.game.MinefieldListener;
+import javafx.beans.property.*;
+
+/**
+ * JavaFX properties that follow a {@link Minefield}'s published counts,
+ * first move and game result, for the GUI to bind to. The minefield itself
+ * only keeps plain fields, so it can be used without JavaFX; it must be
+ * changed on the FX application thread once it is adapted.
+ */
+final class MinefieldProperties implements MinefieldListener {
+    private final IntegerProperty bombCount = new SimpleIntegerProperty();
+    private final IntegerProperty flaggedCount = new SimpleIntegerProperty();
+    private final IntegerProperty revealedCount = new SimpleIntegerProperty();
+    private final BooleanProperty firstMove = new SimpleBooleanProperty();
+    private final ObjectProperty<GameResult> gameResult = new SimpleObjectProperty<>();
+
+    MinefieldProperties(Minefield minefield) {
+        countsChanged(minefield);
+        firstMoveChanged(minefield);
+        gameResultChanged(minefield);
+        minefield.addListener(this);
+    }
+
+    IntegerProperty bombCountProperty() {
+        return bombCount;
+    }
+
+    IntegerProperty flaggedCountProperty() {
+        return flaggedCount;
+    }
+
+    IntegerProperty revealedCountProperty() {
+        return revealedCount;
+    }
+
+    BooleanProperty firstMoveProperty() {
+        return firstMove;
+    }
+
+    ObjectProperty<GameResult> gameResultProperty() {
+        return gameResult;
+    }
+
+    @Override
+    public void countsChanged(Minefield minefield) {
+        bombCount.set(minefield.getBombCount());
+        flaggedCount.set(minefield.getFlaggedCount());
+        revealedCount.set(minefield.getRevealedCount());
+    }
+
+    @Override
+    public void firstMoveChanged(Minefield minefield) {
+        firstMove.set(minefield.getFirstMove());
+    }
+
+    @Override
+    public void gameResultChanged(Minefield minefield) {
+        gameResult.set(minefield.getGameResult());
+    }
+}
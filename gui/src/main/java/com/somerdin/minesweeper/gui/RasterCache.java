@@ -0,0 +1,156 @@
+package com.somerdin.minesweeper.gui;
+
+import com.github.weisj.jsvg.SVGDocument;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Tile atlases rasterized at recently drawn sizes, so zooming back and
+ * forth reuses atlases instead of rasterizing every glyph again on each
+ * scroll step. Requested sizes snap up to a few buckets per doubling, so
+ * nearby zoom levels share one atlas, drawn slightly scaled down. Glyphs
+ * are never rasterized larger than {@link #MAX_GLYPH_SIZE} pixels; past
+ * that, only a few tiles are visible and the largest atlas is scaled up.
+ * Atlases count against a byte budget by their pixels, and the least
+ * recently used are evicted to stay within it. An atlas too large for the
+ * whole budget is never rasterized.
+ * <p>
+ * Missing atlases are rasterized by the {@link SVGRasterizer}, never on the
+ * FX application thread. Until one is ready, the cached atlas of the same
+ * theme nearest in size stands in for it, scaled to fit, and once it is
+ * ready a single callback asks for a redraw. Requests are made and
+ * results arrive on the FX application thread.
+ */
+final class RasterCache {
+    // glyph sizes up to this many pixels are rasterized exactly, since scaling blurs small glyphs
+    private static final int EXACT_SIZE_LIMIT = 16;
+    // size buckets per doubling of glyph size above the exact limit
+    private static final int BUCKETS_PER_DOUBLING = 4;
+    // largest glyph size rasterized, keeping an atlas near 2k pixels square, within common texture limits
+    static final int MAX_GLYPH_SIZE = 512;
+
+    /* a theme's glyphs at a size in screen pixels */
+    private record Key(BoardAppearance.Theme theme, int glyphPixels) {
+
+    }
+
+    private final long budget;
+    // called on the FX application thread when the most recently requested atlas is ready
+    private final Runnable onReady;
+    // atlases in order of last use, oldest first
+    private final Map<Key, TileAtlas> atlases = new LinkedHashMap<>(16, 0.75f, true);
+    private long usedBytes;
+    // atlases being rasterized
+    private final Set<Key> pending = new HashSet<>();
+    // atlases whose rasterizing failed, which are not tried again
+    private final Set<Key> failed = new HashSet<>();
+    // the most recently requested atlas; rasterizing others that are no longer wanted is skipped
+    private volatile Key wanted;
+
+    RasterCache(long budget, Runnable onReady) {
+        if (budget < 0) {
+            throw new IllegalArgumentException("Raster cache budget must not be negative.");
+        }
+        this.budget = budget;
+        this.onReady = onReady;
+    }
+
+    /* smallest bucket size that holds a glyph of the given size in pixels, or the largest bucket */
+    static int bucket(int glyphPixels) {
+        if (glyphPixels <= EXACT_SIZE_LIMIT) {
+            return Math.max(1, glyphPixels);
+        }
+        // the small allowance keeps exact powers of two from rounding up a bucket
+        double step = Math.ceil(Math.log(glyphPixels) / Math.log(2) * BUCKETS_PER_DOUBLING - 1e-9);
+        return Math.min(MAX_GLYPH_SIZE,
+                Math.max(glyphPixels, (int) Math.ceil(Math.pow(2, step / BUCKETS_PER_DOUBLING))));
+    }
+
+    /*
+     * atlas of a theme's glyphs, given by tile ordinal, at the bucket holding
+     * glyphPixels; if it is not ready, it is rasterized in the background
+     * and the nearest cached atlas is returned instead, or null if the theme
+     * has none. An atlas larger than the whole budget is never rasterized.
+     */
+    TileAtlas get(BoardAppearance.Theme theme, SVGDocument[] glyphs, int glyphPixels) {
+        Key key = new Key(theme, bucket(glyphPixels));
+        wanted = key;
+        TileAtlas atlas = atlases.get(key);
+        if (atlas != null) {
+            return atlas;
+        }
+        if (!failed.contains(key)
+                && TileAtlas.byteSize(glyphs.length, key.glyphPixels()) <= budget
+                && pending.add(key)) {
+            rasterize(key, glyphs);
+        }
+        return nearest(theme, key.glyphPixels());
+    }
+
+    private void rasterize(Key key, SVGDocument[] glyphs) {
+        boolean[] skipped = new boolean[1];
+        SVGRasterizer.submit(
+                () -> {
+                    skipped[0] = !key.equals(wanted);
+                    return skipped[0] ? null : new TileAtlas(glyphs, key.glyphPixels());
+                },
+                atlas -> finished(key, glyphs, atlas, skipped[0]));
+    }
+
+    /* takes in a rasterized atlas, or null if it was skipped or failed, on the FX application thread */
+    private void finished(Key key, SVGDocument[] glyphs, TileAtlas atlas, boolean skipped) {
+        if (atlas == null) {
+            if (skipped && key.equals(wanted)) {
+                // zooming may have come back to the skipped size while it was queued
+                rasterize(key, glyphs);
+            } else {
+                pending.remove(key);
+                if (!skipped) {
+                    failed.add(key);
+                }
+            }
+            return;
+        }
+        pending.remove(key);
+        atlases.put(key, atlas);
+        usedBytes += atlas.byteSize();
+        evict();
+        if (key.equals(wanted)) {
+            onReady.run();
+        }
+    }
+
+    /* the cached atlas of a theme closest in size, preferring larger ones, which scale down more cleanly */
+    private TileAtlas nearest(BoardAppearance.Theme theme, int glyphPixels) {
+        TileAtlas nearest = null;
+        double nearestDistance = Double.POSITIVE_INFINITY;
+        for (Map.Entry<Key, TileAtlas> entry : atlases.entrySet()) {
+            if (entry.getKey().theme() != theme) {
+                continue;
+            }
+            int size = entry.getValue().glyphSize();
+            // sizes compare by ratio, with smaller atlases counted as further away
+            double distance = size >= glyphPixels
+                    ? (double) size / glyphPixels
+                    : 2.0 * glyphPixels / size;
+            if (distance < nearestDistance) {
+                nearest = entry.getValue();
+                nearestDistance = distance;
+            }
+        }
+        return nearest;
+    }
+
+    /* drops the least recently used atlases until within budget; atlases are never larger than it alone */
+    private void evict() {
+        Iterator<TileAtlas> oldest = atlases.values().iterator();
+        while (usedBytes > budget) {
+            usedBytes -= oldest.next().byteSize();
+            oldest.remove();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.somerdin.minesweeper.gui;
+
+import com.github.weisj.jsvg.SVGDocument;
+import com.github.weisj.jsvg.attributes.ViewBox;
+import javafx.application.Platform;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Renders SVG documents on a single background daemon thread, so
+ * rasterizing never blocks the FX application thread. Each result is
+ * handed back on the FX application thread. Documents are only rendered
+ * on the background thread, so they are never rendered concurrently.
+ */
+final class SVGRasterizer {
+    private static final ExecutorService EXECUTOR = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "svg-rasterizer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final System.Logger LOGGER = System.getLogger(SVGRasterizer.class.getName());
+
+    private SVGRasterizer() {
+
+    }
+
+    /*
+     * runs work in the background, then passes its result to done on the FX
+     * application thread; if the work fails, even by running out of memory
+     * for a large image, done is passed null instead
+     */
+    static <T> void submit(Supplier<T> work, Consumer<T> done) {
+        EXECUTOR.execute(() -> {
+            T result = null;
+            try {
+                result = work.get();
+            } catch (Throwable e) {
+                LOGGER.log(System.Logger.Level.WARNING, "Could not rasterize SVG", e);
+            } finally {
+                T finished = result;
+                Platform.runLater(() -> done.accept(finished));
+            }
+        });
+    }
+
+    /* renders a whole document scaled to width by height pixels; call only from background work */
+    static BufferedImage render(SVGDocument svg, int width, int height) {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D gr = image.createGraphics();
+        gr.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        svg.render(null, gr, new ViewBox(0, 0, width, height));
+        gr.dispose();
+        return image;
+    }
+}
@@ -1,16 +1,14 @@
 package com.somerdin.minesweeper.gui;
 
 import com.github.weisj.jsvg.SVGDocument;
-import com.github.weisj.jsvg.attributes.ViewBox;
 import com.github.weisj.jsvg.parser.SVGLoader;
 import javafx.embed.swing.SwingFXUtils;
 import javafx.scene.image.ImageView;
 import javafx.scene.image.WritableImage;
 
-import java.awt.*;
-import java.awt.image.BufferedImage;
 import java.net.URL;
 
+/* an SVG rasterized once at a fixed size; the image stays transparent until it has been rendered in the background */
 public class StaticSVGImage {
     private SVGDocument svg;
     private WritableImage image;
@@ -31,17 +29,13 @@ public class StaticSVGImage {
     }
 
     private void convertSVG(int width, int height) {
-        BufferedImage bufImg = new BufferedImage(
-                width, height, BufferedImage.TYPE_INT_ARGB);
-        Graphics2D gr = bufImg.createGraphics();
-        gr.setRenderingHint(
-                RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
-        svg.render(null, gr, new ViewBox(
-                0,
-                0,
-                width,
-                height));
-        gr.dispose();
-        SwingFXUtils.toFXImage(bufImg, image);
+        SVGRasterizer.submit(
+                () -> SVGRasterizer.render(svg, width, height),
+                rendered -> {
+                    // a failed render leaves the image transparent
+                    if (rendered != null) {
+                        SwingFXUtils.toFXImage(rendered, image);
+                    }
+                });
     }
 }
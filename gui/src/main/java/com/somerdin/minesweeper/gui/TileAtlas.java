@@ -0,0 +1,82 @@
+package com.somerdin.minesweeper.gui;
+
+import com.github.weisj.jsvg.SVGDocument;
+import com.github.weisj.jsvg.attributes.ViewBox;
+import javafx.embed.swing.SwingFXUtils;
+import javafx.scene.image.WritableImage;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+/**
+ * The glyphs of every {@link BoardAppearance.Tile} rasterized at one size
+ * into a single image, so a board is drawn as copies of regions of one
+ * texture rather than from a separate texture per glyph. Glyphs sit in a
+ * grid of cells with a transparent pixel around each, so filtering at the
+ * edge of a glyph never picks up its neighbor.
+ * <p>
+ * Atlases are built on the {@link SVGRasterizer} thread and only drawn
+ * once handed to the FX application thread.
+ */
+final class TileAtlas {
+    private static final int COLUMNS = 4;
+    // transparent pixels around each glyph
+    private static final int PADDING = 1;
+
+    private final int glyphSize;
+    private final WritableImage image;
+
+    /* rasterizes glyphs, indexed by tile ordinal, into squares of glyphSize pixels */
+    TileAtlas(SVGDocument[] glyphs, int glyphSize) {
+        // tiles on large boards can be smaller than a pixel; glyphs cannot be
+        this.glyphSize = Math.max(1, glyphSize);
+
+        int cell = this.glyphSize + 2 * PADDING;
+        int rows = (glyphs.length + COLUMNS - 1) / COLUMNS;
+        BufferedImage raster = new BufferedImage(COLUMNS * cell, rows * cell, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D gr = raster.createGraphics();
+        gr.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        for (int i = 0; i < glyphs.length; i++) {
+            // each glyph is clipped to its own cell
+            Graphics2D cellGraphics = (Graphics2D) gr.create(glyphX(i), glyphY(i), this.glyphSize, this.glyphSize);
+            glyphs[i].render(null, cellGraphics, new ViewBox(0, 0, this.glyphSize, this.glyphSize));
+            cellGraphics.dispose();
+        }
+        gr.dispose();
+
+        image = SwingFXUtils.toFXImage(raster, new WritableImage(raster.getWidth(), raster.getHeight()));
+    }
+
+    int glyphSize() {
+        return glyphSize;
+    }
+
+    /* approximate memory held by the atlas image, in bytes */
+    long byteSize() {
+        return 4L * (long) image.getWidth() * (long) image.getHeight();
+    }
+
+    /* approximate memory an atlas of a number of glyphs at a size would hold, in bytes, before building it */
+    static long byteSize(int glyphCount, int glyphSize) {
+        long cell = Math.max(1, glyphSize) + 2 * PADDING;
+        long rows = (glyphCount + COLUMNS - 1) / COLUMNS;
+        return 4L * COLUMNS * cell * rows * cell;
+    }
+
+    /*
+     * draws a glyph with its top left corner at x, y, before zooming, and
+     * size pixels across on the canvas, scaling it from its rasterized size
+     */
+    void draw(ZoomCanvas canvas, BoardAppearance.Tile tile, double x, double y, double size) {
+        int i = tile.ordinal();
+        canvas.drawImageRegionWithZoom(image, glyphX(i), glyphY(i), glyphSize, glyphSize, x, y, size, size);
+    }
+
+    private int glyphX(int i) {
+        return (i % COLUMNS) * (glyphSize + 2 * PADDING) + PADDING;
+    }
+
+    private int glyphY(int i) {
+        return (i / COLUMNS) * (glyphSize + 2 * PADDING) + PADDING;
+    }
+}
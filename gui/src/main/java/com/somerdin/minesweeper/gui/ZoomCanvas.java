@@ -19,6 +19,8 @@ import java.util.*;
 public class ZoomCanvas extends Canvas {
     // the size ratio of the updated zoom bounds to old bounds whenever a scroll event occurs
     public static final double ZOOM_RATIO = 0.9;
+    // default smallest width and height the zoom area can shrink to
+    public static final double MIN_ZOOM_AREA_SIZE = 50;
 
     private final Rectangle zoomBounds = new Rectangle(0, 0, getWidth(), getHeight());
     private final Rectangle zoomArea = new Rectangle(0, 0, getWidth(), getHeight());
@@ -27,6 +29,8 @@ public class ZoomCanvas extends Canvas {
     private final SimpleDoubleProperty zoomScale = new SimpleDoubleProperty(1);
     private final SimpleBooleanProperty redrawPendingProperty = new SimpleBooleanProperty();
 
+    private double minZoomAreaSize = MIN_ZOOM_AREA_SIZE;
+
     private double lastMouseX;
     private double lastMouseY;
 
@@ -104,6 +108,18 @@ public class ZoomCanvas extends Canvas {
         return zoomScale.get();
     }
 
+    public double getMinZoomAreaSize() {
+        return minZoomAreaSize;
+    }
+
+    /* sets smallest zoom area size; lower values allow zooming further in */
+    public void setMinZoomAreaSize(double size) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("Minimum zoom area size must be positive.");
+        }
+        minZoomAreaSize = size;
+    }
+
     public BooleanProperty redrawPendingProperty() {
         return redrawPendingProperty;
     }
@@ -174,8 +190,8 @@ public class ZoomCanvas extends Canvas {
     }
 
     public void setZoomArea(double x, double y, double w, double h) {
-        zoomArea.setWidth(Math.clamp(w, 50, zoomBounds.getWidth()));
-        zoomArea.setHeight(Math.clamp(h, 50, zoomBounds.getHeight()));
+        zoomArea.setWidth(Math.clamp(w, Math.min(minZoomAreaSize, zoomBounds.getWidth()), zoomBounds.getWidth()));
+        zoomArea.setHeight(Math.clamp(h, Math.min(minZoomAreaSize, zoomBounds.getHeight()), zoomBounds.getHeight()));
 
         zoomArea.setX(Math.clamp(x, zoomBounds.getX(), zoomBounds.getX() + zoomBounds.getWidth() - zoomArea.getWidth()));
         zoomArea.setY(Math.clamp(y, zoomBounds.getY(), zoomBounds.getY() + zoomBounds.getHeight() - zoomArea.getHeight()));
@@ -193,6 +209,16 @@ public class ZoomCanvas extends Canvas {
         getGraphicsContext2D().fillRect(x, y, w, h);
     }
 
+    public void clearRectWithZoom(double x, double y, double w, double h) {
+        x = (x - zoomArea.getX()) * zoomWidthRatio() + zoomBounds.getX();
+        y = (y - zoomArea.getY()) * zoomHeightRatio() + zoomBounds.getY();
+
+        w *= zoomWidthRatio();
+        h *= zoomHeightRatio();
+
+        getGraphicsContext2D().clearRect(x, y, w, h);
+    }
+
     public void drawImageWithZoom(Image img, double x, double y) {
         x = (x - zoomArea.getX()) * zoomWidthRatio() + zoomBounds.getX();
         y = (y - zoomArea.getY()) * zoomHeightRatio() + zoomBounds.getY();
@@ -200,6 +226,20 @@ public class ZoomCanvas extends Canvas {
         getGraphicsContext2D().drawImage(img, x, y);
     }
 
+    /*
+     * draws a region of an image w by h pixels across on the canvas; like
+     * drawImageWithZoom, only the position is zoomed, as the size is given
+     * in canvas pixels already
+     */
+    public void drawImageRegionWithZoom(Image img,
+                                        double sx, double sy, double sw, double sh,
+                                        double x, double y, double w, double h) {
+        x = (x - zoomArea.getX()) * zoomWidthRatio() + zoomBounds.getX();
+        y = (y - zoomArea.getY()) * zoomHeightRatio() + zoomBounds.getY();
+
+        getGraphicsContext2D().drawImage(img, sx, sy, sw, sh, x, y, w, h);
+    }
+
     private void registerScrollListener() {
         setOnScroll(event -> {
             if (Math.abs(event.getDeltaY()) < 5) {
@@ -9,14 +9,18 @@ public enum ColorTheme {
             Color.TRANSPARENT,
             Color.WHEAT,
             Color.GOLD,
-            Color.BLUE),
+            Color.BLUE,
+            Color.LIGHTGREEN,
+            Color.LIGHTCORAL),
     SPECIAL(Color.TRANSPARENT,
             Color.TRANSPARENT,
             Color.TRANSPARENT,
             Color.GREY,
             Color.WHEAT,
             Color.GOLD,
-            Color.BLUE);
+            Color.BLUE,
+            Color.LIGHTGREEN,
+            Color.LIGHTCORAL);
 
     private final Color bombColor;
     private final Color tileColor;
@@ -25,6 +29,8 @@ public enum ColorTheme {
     private final Color pausedColor;
     private final Color hoverColor;
     private final Color selectColor;
+    private final Color safeHintColor;
+    private final Color mineHintColor;
 
     ColorTheme(Color bombColor,
                Color tileColor,
@@ -32,7 +38,9 @@ public enum ColorTheme {
                Color gapColor,
                Color pausedColor,
                Color hoverColor,
-               Color selectColor) {
+               Color selectColor,
+               Color safeHintColor,
+               Color mineHintColor) {
         this.bombColor = bombColor;
         this.tileColor = tileColor;
         this.revealedTileColor = revealedTileColor;
@@ -40,6 +48,8 @@ public enum ColorTheme {
         this.pausedColor = pausedColor;
         this.hoverColor = hoverColor;
         this.selectColor = selectColor;
+        this.safeHintColor = safeHintColor;
+        this.mineHintColor = mineHintColor;
     }
 
     public Color getBombColor() {
@@ -69,4 +79,12 @@ public enum ColorTheme {
     public Color getSelectColor() {
         return selectColor;
     }
+
+    public Color getSafeHintColor() {
+        return safeHintColor;
+    }
+
+    public Color getMineHintColor() {
+        return mineHintColor;
+    }
 }
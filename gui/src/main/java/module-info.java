@@ -1,4 +1,5 @@
 module com.somerdin.minesweeper {
+    requires transitive com.somerdin.minesweeper.engine;
     requires javafx.graphics;
     requires javafx.controls;
     requires javafx.swing;
@@ -6,7 +7,6 @@ module com.somerdin.minesweeper {
     requires java.prefs;
 
     exports com.somerdin.minesweeper.gui;
-    exports com.somerdin.minesweeper.game;
     exports com.somerdin.minesweeper;
     exports com.somerdin.minesweeper.style;
-}
\ No newline at end of file
+}